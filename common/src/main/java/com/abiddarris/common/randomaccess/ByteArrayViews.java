@@ -0,0 +1,108 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Holds {@code VarHandle}s that view {@code byte[]} as array of primitives.
+ *
+ * @author Abiddarris
+ */
+final class ByteArrayViews {
+
+    private static final VarHandle SHORT_BE = view(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT_LE = view(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_BE = view(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_LE = view(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE = view(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_LE = view(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_BE = view(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_LE = view(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_BE = view(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_LE = view(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private ByteArrayViews() {}
+
+    /**
+     * Returns {@code VarHandle} that views {@code byte[]} as {@code short[]}
+     *
+     * @param order Byte order
+     * @return {@code VarHandle} with coordinates {@code (byte[], int)}
+     * @throws NullPointerException if {@code order} is {@code null}
+     */
+    static VarHandle shorts(ByteOrder order) {
+        return isBigEndian(order) ? SHORT_BE : SHORT_LE;
+    }
+
+    /**
+     * Returns {@code VarHandle} that views {@code byte[]} as {@code int[]}
+     *
+     * @param order Byte order
+     * @return {@code VarHandle} with coordinates {@code (byte[], int)}
+     * @throws NullPointerException if {@code order} is {@code null}
+     */
+    static VarHandle ints(ByteOrder order) {
+        return isBigEndian(order) ? INT_BE : INT_LE;
+    }
+
+    /**
+     * Returns {@code VarHandle} that views {@code byte[]} as {@code long[]}
+     *
+     * @param order Byte order
+     * @return {@code VarHandle} with coordinates {@code (byte[], int)}
+     * @throws NullPointerException if {@code order} is {@code null}
+     */
+    static VarHandle longs(ByteOrder order) {
+        return isBigEndian(order) ? LONG_BE : LONG_LE;
+    }
+
+    /**
+     * Returns {@code VarHandle} that views {@code byte[]} as {@code float[]}
+     *
+     * @param order Byte order
+     * @return {@code VarHandle} with coordinates {@code (byte[], int)}
+     * @throws NullPointerException if {@code order} is {@code null}
+     */
+    static VarHandle floats(ByteOrder order) {
+        return isBigEndian(order) ? FLOAT_BE : FLOAT_LE;
+    }
+
+    /**
+     * Returns {@code VarHandle} that views {@code byte[]} as {@code double[]}
+     *
+     * @param order Byte order
+     * @return {@code VarHandle} with coordinates {@code (byte[], int)}
+     * @throws NullPointerException if {@code order} is {@code null}
+     */
+    static VarHandle doubles(ByteOrder order) {
+        return isBigEndian(order) ? DOUBLE_BE : DOUBLE_LE;
+    }
+
+    private static boolean isBigEndian(ByteOrder order) {
+        checkNonNull(order);
+
+        return order == ByteOrder.BIG_ENDIAN;
+    }
+
+    private static VarHandle view(Class<?> arrayClass, ByteOrder order) {
+        return MethodHandles.byteArrayViewVarHandle(arrayClass, order);
+    }
+}
@@ -0,0 +1,463 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import com.abiddarris.common.randomaccess.cache.EvictionPolicy;
+import com.abiddarris.common.randomaccess.cache.LruEvictionPolicy;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@code RandomAccess} that caches pages of another {@code RandomAccess} in memory.
+ *
+ * <p>Reads are served from fixed size pages that are loaded from the wrapped
+ * {@code RandomAccess} on first access. The number of cached pages is bounded by the
+ * memory budget, when the cache is full a page is evicted according to the
+ * {@link EvictionPolicy}.
+ *
+ * <p>Pages are loaded without holding the lock of this {@code CachedRandomAccess}, so a miss
+ * does not block readers of other pages. Readers of a page that is being loaded wait for it.
+ *
+ * <p>Writes are written through into the wrapped {@code RandomAccess} and update the cached
+ * pages, so the cache never holds unwritten data. Modifying the wrapped
+ * {@code RandomAccess} directly while it is wrapped by this class may leave stale pages in the cache.
+ *
+ * <p>Closing this {@code CachedRandomAccess} will close the wrapped {@code RandomAccess}.
+ *
+ * @author Abiddarris
+ */
+public class CachedRandomAccess extends RandomAccess {
+
+    /**
+     * Default size of each page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    /**
+     * Default memory budget of the cache
+     */
+    public static final long DEFAULT_MAX_MEMORY = 16 * 1024 * 1024;
+
+    /**
+     * Wrapped {@code RandomAccess}
+     */
+    private final RandomAccess source;
+
+    /**
+     * Size of each page
+     */
+    private final int pageSize;
+
+    /**
+     * Maximum number of cached pages
+     */
+    private final long maxPages;
+
+    /**
+     * Policy that chooses page to evict
+     */
+    private final EvictionPolicy policy;
+
+    /**
+     * Cached pages, keyed by page index
+     */
+    private final Map<Long, Page> pages = new HashMap<>();
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Create new {@code CachedRandomAccess} with {@link #DEFAULT_PAGE_SIZE},
+     * {@link #DEFAULT_MAX_MEMORY} and {@link LruEvictionPolicy}.
+     *
+     * @param source {@code RandomAccess} to cache
+     * @throws NullPointerException if {@code source} is {@code null}
+     */
+    public CachedRandomAccess(RandomAccess source) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_MEMORY, new LruEvictionPolicy());
+    }
+
+    /**
+     * Create new {@code CachedRandomAccess}.
+     *
+     * @param source {@code RandomAccess} to cache
+     * @param pageSize Size of each page
+     * @param maxMemory Maximum bytes that can be held by the cache. At least one page
+     *        is always cached.
+     * @param policy Policy that chooses page to evict. The policy must not be shared with
+     *        other cache.
+     * @throws NullPointerException if {@code source} or {@code policy} is {@code null}
+     * @throws IllegalArgumentException if {@code pageSize} or {@code maxMemory} is less than
+     *         or equals zero
+     */
+    public CachedRandomAccess(RandomAccess source, int pageSize, long maxMemory, EvictionPolicy policy) {
+        checkNonNull(source);
+        checkNonNull(policy);
+
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("pageSize must be greater than zero");
+        if (maxMemory <= 0)
+            throw new IllegalArgumentException("maxMemory must be greater than zero");
+
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(1, maxMemory / pageSize);
+        this.policy = policy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        Page page = getPage(pos / pageSize);
+        int offset = (int) (pos % pageSize);
+
+        synchronized (this) {
+            if (offset >= page.length) return -1;
+
+            return page.data[offset] & 0xFF;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        int total = 0;
+        while (total < len) {
+            Page page = getPage(pos / pageSize);
+            int offset = (int) (pos % pageSize);
+
+            int n;
+            synchronized (this) {
+                if (offset >= page.length) break;
+
+                n = Math.min(len - total, page.length - offset);
+                System.arraycopy(page.data, offset, b, off + total, n);
+            }
+
+            total += n;
+            pos += n;
+
+            if (n < pageSize - offset) break;
+        }
+
+        return total == 0 ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            long length = source.getLength();
+
+            source.writeAt(b, pos);
+            updatePages(new byte[] {(byte) b}, pos, 0, 1);
+
+            if (pos >= length) {
+                removePage(length / pageSize);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        synchronized (this) {
+            long length = source.getLength();
+
+            source.writeAt(b, pos, off, len);
+            updatePages(b, pos, off, len);
+
+            if (pos + len > length) {
+                removePage(length / pageSize);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        return source.getLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        synchronized (this) {
+            long length = source.getLength();
+
+            source.setLength(newLength);
+
+            long firstInvalid = Math.min(length, newLength) / pageSize;
+            Iterator<Long> iterator = pages.keySet().iterator();
+            while (iterator.hasNext()) {
+                long index = iterator.next();
+                if (index >= firstInvalid) {
+                    iterator.remove();
+                    policy.onRemove(index);
+                }
+            }
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * Returns number of reads that were served from cached pages.
+     *
+     * @return Number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns number of reads that required loading a page from wrapped {@code RandomAccess}.
+     *
+     * @return Number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns number of pages that have been evicted to make room for new pages.
+     *
+     * @return Number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns number of pages that currently cached.
+     *
+     * @return Number of cached pages
+     */
+    public synchronized int getCachedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Discards all cached pages. Statistics are not reset.
+     */
+    public synchronized void invalidate() {
+        pages.clear();
+        policy.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        invalidate();
+        source.close();
+    }
+
+    /**
+     * Returns cached page at specified index, loads it from wrapped
+     * {@code RandomAccess} if it is not cached yet.
+     *
+     * <p>This method must be called without holding the lock of this object. The page
+     * is loaded without the lock, other readers of the same page wait until it is loaded.
+     *
+     * @param index Page index
+     * @return Page at {@code index}, its length is zero if the page is beyond the end
+     * @throws IOException If an I/O error occurs
+     */
+    private Page getPage(long index) throws IOException {
+        Page page;
+        synchronized (this) {
+            page = pages.get(index);
+            if (page != null) {
+                hitCount++;
+                policy.onAccess(index);
+
+                while (page.loading) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if (page.failure != null) {
+                    throw new IOException("Unable to load page " + index, page.failure);
+                }
+                return page;
+            }
+
+            missCount++;
+
+            while (pages.size() >= maxPages) {
+                long victim = policy.evict();
+                if (victim == -1) break;
+
+                pages.remove(victim);
+                evictionCount++;
+            }
+
+            page = new Page();
+            pages.put(index, page);
+            policy.onInsert(index);
+        }
+
+        byte[] data = new byte[pageSize];
+        long start = index * pageSize;
+        int length = 0;
+        IOException failure = null;
+        try {
+            while (length < pageSize) {
+                int read = source.readAt(data, start + length, length, pageSize - length);
+                if (read == -1) break;
+
+                length += read;
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+
+        synchronized (this) {
+            page.data = data;
+            page.length = length;
+            page.failure = failure;
+            page.loading = false;
+
+            if (failure != null || length == 0) {
+                removePage(index, page);
+            }
+            notifyAll();
+        }
+
+        if (failure != null) throw failure;
+
+        return page;
+    }
+
+    /**
+     * Discards cached page at {@code index}. Must be called with the lock held.
+     */
+    private void removePage(long index) {
+        if (pages.remove(index) != null) {
+            policy.onRemove(index);
+        }
+    }
+
+    /**
+     * Discards cached page at {@code index} if it is {@code page}. Must be called with the lock held.
+     */
+    private void removePage(long index, Page page) {
+        if (pages.get(index) == page) {
+            removePage(index);
+        }
+    }
+
+    /**
+     * Applies written bytes into cached pages. Pages whose valid region
+     * does not fully contain the written bytes are discarded.
+     */
+    private void updatePages(byte[] b, long pos, int off, int len) {
+        long end = pos + len;
+        for (long index = pos / pageSize; index <= (end - 1) / pageSize; index++) {
+            Page page = pages.get(index);
+            if (page == null) continue;
+
+            if (page.loading) {
+                removePage(index);
+                continue;
+            }
+
+            long pageStart = index * pageSize;
+            long from = Math.max(pos, pageStart);
+            long to = Math.min(end, pageStart + pageSize);
+
+            if (to - pageStart > page.length) {
+                removePage(index);
+                continue;
+            }
+
+            System.arraycopy(b, off + (int) (from - pos), page.data, (int) (from - pageStart), (int) (to - from));
+        }
+    }
+
+    /**
+     * Cached page. Fields are guarded by the lock of {@code CachedRandomAccess}.
+     */
+    private static final class Page {
+
+        /**
+         * Page content, always has {@code pageSize} bytes once loaded
+         */
+        private byte[] data;
+
+        /**
+         * Number of valid bytes in {@code data}
+         */
+        private int length;
+
+        /**
+         * Whether the page is being loaded
+         */
+        private boolean loading = true;
+
+        /**
+         * Error that occurred while loading, {@code null} if none
+         */
+        private IOException failure;
+    }
+}
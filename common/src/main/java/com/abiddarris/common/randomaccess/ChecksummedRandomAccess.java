@@ -0,0 +1,439 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * {@code RandomAccess} that protects another {@code RandomAccess} with a
+ * CRC32C checksum for every fixed size block.
+ *
+ * <p>Checksums are stored in a separate sidecar {@code RandomAccess} as big endian
+ * {@code int}s, one per block. Writes update the checksums of the blocks they touch.
+ * Reads verify a block the first time it is read, after that the block is considered
+ * verified until {@link #resetVerification()} is called.
+ *
+ * <p>Reads hold a shared lock and run concurrently, writes hold an exclusive lock so
+ * data and checksums are always updated together.
+ *
+ * <p>Closing this {@code ChecksummedRandomAccess} will close both wrapped {@code RandomAccess}es.
+ *
+ * @author Abiddarris
+ */
+public class ChecksummedRandomAccess extends RandomAccess {
+
+    /**
+     * Default size of each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * {@code RandomAccess} that holds the data
+     */
+    private final RandomAccess data;
+
+    /**
+     * {@code RandomAccess} that holds the checksums
+     */
+    private final RandomAccess checksums;
+
+    /**
+     * Size of each block
+     */
+    private final int blockSize;
+
+    /**
+     * Blocks that have been verified in current generation. Guarded by itself.
+     */
+    private final BitSet verified = new BitSet();
+
+    /**
+     * Guards consistency between data and checksums
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Create new {@code ChecksummedRandomAccess} with {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param data {@code RandomAccess} that holds the data
+     * @param checksums {@code RandomAccess} that holds the checksums
+     * @throws NullPointerException if {@code data} or {@code checksums} is {@code null}
+     * @throws IOException if an I/O error occurs
+     * @see #ChecksummedRandomAccess(RandomAccess, RandomAccess, int)
+     */
+    public ChecksummedRandomAccess(RandomAccess data, RandomAccess checksums) throws IOException {
+        this(data, checksums, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create new {@code ChecksummedRandomAccess}.
+     *
+     * <p>Checksums of blocks that are missing from {@code checksums} are computed from
+     * the current content of {@code data}, so an existing {@code RandomAccess} can be
+     * protected by passing an empty {@code checksums}.
+     *
+     * @param data {@code RandomAccess} that holds the data
+     * @param checksums {@code RandomAccess} that holds the checksums
+     * @param blockSize Size of each block
+     * @throws NullPointerException if {@code data} or {@code checksums} is {@code null}
+     * @throws IllegalArgumentException if {@code blockSize} is less than or equals zero
+     * @throws IOException if an I/O error occurs
+     */
+    public ChecksummedRandomAccess(RandomAccess data, RandomAccess checksums, int blockSize) throws IOException {
+        checkNonNull(data);
+        checkNonNull(checksums);
+
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("blockSize must be greater than zero");
+
+        this.data = data;
+        this.checksums = checksums;
+        this.blockSize = blockSize;
+
+        long blocks = blockCount(data.getLength());
+        long stored = checksums.getLength() / Integer.BYTES;
+        for (long i = stored; i < blocks; i++) {
+            updateChecksum(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the checksum of the block does not match
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        lock.readLock().lock();
+        try {
+            if (pos < data.getLength()) {
+                verify(pos / blockSize);
+            }
+
+            return data.readAt(pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the checksum of any block does not match
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        lock.readLock().lock();
+        try {
+            long end = Math.min(pos + len, data.getLength());
+            for (long i = pos / blockSize; i * blockSize < end; i++) {
+                verify(i);
+            }
+
+            return data.readAt(b, pos, off, len);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        writeAt(new byte[] {(byte) b}, pos, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the checksum of a partially overwritten block does not match
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        lock.writeLock().lock();
+        try {
+            long oldLength = data.getLength();
+            long oldBlocks = blockCount(oldLength);
+            long first = Math.min(pos / blockSize, Math.max(oldBlocks - 1, 0));
+            long last = (pos + len - 1) / blockSize;
+
+            for (long i = first; i <= last && i * blockSize < oldLength; i++) {
+                long blockStart = i * blockSize;
+                long blockEnd = Math.min(blockStart + blockSize, oldLength);
+                if (pos > blockStart || pos + len < blockEnd) {
+                    verify(i);
+                }
+            }
+
+            data.writeAt(b, pos, off, len);
+
+            for (long i = first; i <= last; i++) {
+                updateChecksum(i);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        return data.getLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the checksum of the block that keeps part of its data does not match
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        lock.writeLock().lock();
+        try {
+            long oldBlocks = blockCount(data.getLength());
+            long newBlocks = blockCount(newLength);
+            long kept = Math.min(oldBlocks, newBlocks) - 1;
+            if (kept >= 0) {
+                verify(kept);
+            }
+
+            data.setLength(newLength);
+            checksums.setLength(newBlocks * Integer.BYTES);
+
+            synchronized (verified) {
+                if (newBlocks < Integer.MAX_VALUE) {
+                    verified.clear((int) newBlocks, Integer.MAX_VALUE);
+                }
+            }
+
+            for (long i = Math.max(Math.min(oldBlocks, newBlocks) - 1, 0); i < newBlocks; i++) {
+                updateChecksum(i);
+            }
+
+            truncatePointer(newLength);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets which blocks have been verified, so every block is verified again
+     * the next time it is read.
+     */
+    public void resetVerification() {
+        synchronized (verified) {
+            verified.clear();
+        }
+    }
+
+    /**
+     * Verifies every block in parallel.
+     *
+     * <p>Blocks are split into ranges that are submitted to {@code executor} from the
+     * calling thread, so no thread of {@code executor} waits for another range. Verified
+     * blocks are not verified again by later reads in the current generation.
+     * Writes are blocked while a range is being verified.
+     *
+     * @param executor Executor that runs the verification
+     * @param parallelism Number of ranges verified concurrently
+     * @return Future that completes with sorted indexes of blocks whose checksum does
+     *         not match. The future completes exceptionally if an I/O error occurs.
+     * @throws NullPointerException if {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code parallelism} is less than or equals zero
+     */
+    public CompletableFuture<List<Long>> scrub(Executor executor, int parallelism) {
+        checkNonNull(executor);
+
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+
+        long blocks;
+        try {
+            blocks = blockCount(getLength());
+        } catch (IOException e) {
+            CompletableFuture<List<Long>> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        long perTask = Math.max(1, (blocks + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<Long>>> tasks = new ArrayList<>();
+        for (long start = 0; start < blocks; start += perTask) {
+            long from = start;
+            long to = Math.min(start + perTask, blocks);
+
+            tasks.add(CompletableFuture.supplyAsync(() -> scrubRange(from, to), executor));
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<Long> corrupted = new ArrayList<>();
+                for (CompletableFuture<List<Long>> task : tasks) {
+                    corrupted.addAll(task.join());
+                }
+                return corrupted;
+            });
+    }
+
+    /**
+     * Closes this {@code ChecksummedRandomAccess} and both wrapped {@code RandomAccess}es.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        try {
+            data.close();
+        } finally {
+            checksums.close();
+        }
+    }
+
+    /**
+     * Verifies blocks in {@code [from, to)} that are still within the length.
+     *
+     * @param from First block index
+     * @param to Last block index, exclusive
+     * @return Indexes of blocks whose checksum does not match
+     */
+    private List<Long> scrubRange(long from, long to) {
+        List<Long> corrupted = new ArrayList<>();
+        byte[] buf = new byte[blockSize];
+
+        lock.readLock().lock();
+        try {
+            to = Math.min(to, blockCount(data.getLength()));
+            for (long i = from; i < to; i++) {
+                if (computeChecksum(i, buf) == storedChecksum(i)) {
+                    markVerified(i);
+                } else {
+                    corrupted.add(i);
+                }
+            }
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return corrupted;
+    }
+
+    /**
+     * Verifies block at {@code index} if it has not been verified yet.
+     *
+     * @param index Block index
+     * @throws IOException if the checksum does not match
+     * @throws IOException if an I/O error occurs
+     */
+    private void verify(long index) throws IOException {
+        synchronized (verified) {
+            if (index < Integer.MAX_VALUE && verified.get((int) index)) return;
+        }
+
+        if (computeChecksum(index, new byte[blockSize]) != storedChecksum(index)) {
+            throw new IOException("Checksum mismatch at block " + index);
+        }
+
+        markVerified(index);
+    }
+
+    /**
+     * Computes and stores checksum of block at {@code index}. The block is marked verified.
+     *
+     * @param index Block index
+     * @throws IOException if an I/O error occurs
+     */
+    private void updateChecksum(long index) throws IOException {
+        int checksum = computeChecksum(index, new byte[blockSize]);
+        checksums.writeIntAt(checksum, index * Integer.BYTES, ByteOrder.BIG_ENDIAN);
+
+        markVerified(index);
+    }
+
+    private void markVerified(long index) {
+        if (index >= Integer.MAX_VALUE) return;
+
+        synchronized (verified) {
+            verified.set((int) index);
+        }
+    }
+
+    private int storedChecksum(long index) throws IOException {
+        return checksums.readIntAt(index * Integer.BYTES, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Computes checksum of block at {@code index} from the current data.
+     *
+     * @param index Block index
+     * @param buf Temporary buffer with {@code blockSize} bytes
+     * @return CRC32C of the block
+     * @throws IOException if an I/O error occurs
+     */
+    private int computeChecksum(long index, byte[] buf) throws IOException {
+        long pos = index * blockSize;
+        int total = 0;
+        while (total < blockSize) {
+            int read = data.readAt(buf, pos + total, total, blockSize - total);
+            if (read == -1) break;
+
+            total += read;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buf, 0, total);
+
+        return (int) crc.getValue();
+    }
+
+    private long blockCount(long length) {
+        return (length + blockSize - 1) / blockSize;
+    }
+}
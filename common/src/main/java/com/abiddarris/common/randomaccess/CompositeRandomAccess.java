@@ -0,0 +1,253 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.IOException;
+
+/**
+ * {@code RandomAccess} that combines multiple {@code RandomAccess}es into one
+ * continuous address space.
+ *
+ * <p>Lengths of the segments are captured when this {@code CompositeRandomAccess} is
+ * created, and all segments except the last one must not change their length afterwards.
+ * A position is mapped into its segment using binary search over the starting positions
+ * of the segments. Reads and writes that span multiple segments are split transparently.
+ * Writing beyond the end and {@link #setLength(long)} only affect the last segment.
+ *
+ * <p>Closing this {@code CompositeRandomAccess} will close all of its segments.
+ *
+ * @author Abiddarris
+ */
+public class CompositeRandomAccess extends RandomAccess {
+
+    /**
+     * Combined segments
+     */
+    private final RandomAccess[] segments;
+
+    /**
+     * Starting position of each segment
+     */
+    private final long[] starts;
+
+    /**
+     * Create new {@code CompositeRandomAccess} from given segments.
+     *
+     * @param segments Segments to combine, in order
+     * @throws IllegalArgumentException If no segment given
+     * @throws NullPointerException If any of the segments is {@code null}
+     * @throws IOException If unable to get the length of a segment
+     */
+    public CompositeRandomAccess(RandomAccess... segments) throws IOException {
+        checkNonNull(segments);
+
+        if (segments.length < 1) {
+            throw new IllegalArgumentException("No segment given.");
+        }
+
+        this.segments = segments.clone();
+        this.starts = new long[segments.length];
+
+        long start = 0;
+        for (int i = 0; i < segments.length; i++) {
+            checkNonNull(this.segments[i]);
+
+            starts[i] = start;
+            start += this.segments[i].getLength();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        int index = segmentIndex(pos);
+        if (index != segments.length - 1 && pos >= starts[index + 1]) {
+            return -1;
+        }
+
+        return segments[index].readAt(pos - starts[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        int total = 0;
+        int index = segmentIndex(pos);
+        while (total < len) {
+            long end = segmentEnd(index);
+            if (pos >= end) {
+                index++;
+                continue;
+            }
+
+            int n = (int) Math.min(len - total, end - pos);
+            int read = segments[index].readAt(b, pos - starts[index], off + total, n);
+            if (read == -1) break;
+
+            pos += read;
+            total += read;
+        }
+
+        return total == 0 ? -1 : total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        int index = segmentIndex(pos);
+        segments[index].writeAt(b, pos - starts[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        int index = segmentIndex(pos);
+        while (len > 0) {
+            int n = (int) Math.min(len, segmentEnd(index) - pos);
+
+            segments[index].writeAt(b, pos - starts[index], off, n);
+
+            pos += n;
+            off += n;
+            len -= n;
+            index++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        int last = segments.length - 1;
+
+        return starts[last] + segments[last].getLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if {@code newLength} is less than starting position of the last
+     *         segment, or an I/O error occurs
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        int last = segments.length - 1;
+        if (newLength < starts[last]) {
+            throw new IOException("Cannot truncate into segments other than the last one");
+        }
+
+        segments[last].setLength(newLength - starts[last]);
+        truncatePointer(newLength);
+    }
+
+    /**
+     * Returns number of segments combined by this {@code CompositeRandomAccess}.
+     *
+     * @return Number of segments
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Closes this {@code CompositeRandomAccess} and all of its segments.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        IOException exception = null;
+        for (RandomAccess segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns index of the segment that contains {@code pos}. Positions
+     * beyond the end are mapped into the last segment.
+     *
+     * @param pos Position
+     * @return Segment index
+     */
+    private int segmentIndex(long pos) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= pos) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns end position of segment at {@code index}, exclusive. The last
+     * segment has no end.
+     *
+     * @param index Segment index
+     * @return End position of the segment
+     */
+    private long segmentEnd(int index) {
+        return index == segments.length - 1 ? Long.MAX_VALUE : starts[index + 1];
+    }
+}
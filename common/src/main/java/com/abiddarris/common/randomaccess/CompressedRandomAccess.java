@@ -0,0 +1,590 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@code RandomAccess} that stores its content compressed inside another {@code RandomAccess}.
+ *
+ * <p>Content is split into fixed size blocks that are compressed independently using
+ * {@link Deflater}. A block index that maps every block into its compressed bytes is
+ * kept in memory, so reading only inflates the blocks that are touched. Recently used
+ * blocks are cached in decompressed form.
+ *
+ * <p>Written blocks are kept in the cache and compressed when they are evicted or when
+ * {@link #flush()} or {@link #close()} is called. A rewritten block is appended into the
+ * storage instead of replacing the old one, so rewriting blocks leaves unused bytes in the storage.
+ *
+ * <p>The storage layout is a header containing the block size, followed by the compressed
+ * blocks and a trailer containing the block index. The trailer is written by {@link #flush()}.
+ *
+ * <p>Closing this {@code CompressedRandomAccess} will close the storage.
+ *
+ * @author Abiddarris
+ */
+public class CompressedRandomAccess extends RandomAccess implements Flushable {
+
+    /**
+     * Default size of each block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Default number of decompressed blocks to cache
+     */
+    public static final int DEFAULT_CACHED_BLOCKS = 16;
+
+    /**
+     * Magic number that marks the header and the trailer
+     */
+    private static final int MAGIC = 0x43524131;
+
+    /**
+     * Size of the header, magic number followed by block size
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * Size of each index entry, offset followed by compressed length
+     */
+    private static final int INDEX_ENTRY_SIZE = 12;
+
+    /**
+     * Size of the footer, trailer offset followed by magic number
+     */
+    private static final int FOOTER_SIZE = 12;
+
+    /**
+     * {@code RandomAccess} that stores the compressed content
+     */
+    private final RandomAccess storage;
+
+    /**
+     * Size of each block
+     */
+    private final int blockSize;
+
+    /**
+     * Maximum number of cached blocks
+     */
+    private final int cachedBlocks;
+
+    /**
+     * Cached blocks in access order
+     */
+    private final LinkedHashMap<Integer, Block> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Deflater deflater = new Deflater();
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Storage offset of each block, {@code -1} if the block has never been written
+     */
+    private long[] offsets = new long[0];
+
+    /**
+     * Compressed length of each block
+     */
+    private int[] sizes = new int[0];
+
+    /**
+     * Number of blocks in the index
+     */
+    private int blockCount;
+
+    /**
+     * Storage position where the next compressed block is written
+     */
+    private long dataEnd = HEADER_SIZE;
+
+    /**
+     * This {@code CompressedRandomAccess}'s length
+     */
+    private long length;
+
+    /**
+     * Create new {@code CompressedRandomAccess} with {@link #DEFAULT_BLOCK_SIZE}
+     * and {@link #DEFAULT_CACHED_BLOCKS}.
+     *
+     * @param storage {@code RandomAccess} that stores the compressed content
+     * @throws NullPointerException if {@code storage} is {@code null}
+     * @throws IOException if {@code storage} is not empty and does not contain
+     *         valid content, or an I/O error occurs
+     * @see #CompressedRandomAccess(RandomAccess, int, int)
+     */
+    public CompressedRandomAccess(RandomAccess storage) throws IOException {
+        this(storage, DEFAULT_BLOCK_SIZE, DEFAULT_CACHED_BLOCKS);
+    }
+
+    /**
+     * Create new {@code CompressedRandomAccess}.
+     *
+     * <p>If {@code storage} is empty, a new content is created using {@code blockSize}.
+     * Otherwise the existing content is opened and the block size stored in it is used.
+     *
+     * @param storage {@code RandomAccess} that stores the compressed content
+     * @param blockSize Size of each block for new content
+     * @param cachedBlocks Maximum number of decompressed blocks to cache
+     * @throws NullPointerException if {@code storage} is {@code null}
+     * @throws IllegalArgumentException if {@code blockSize} or {@code cachedBlocks}
+     *         is less than or equals zero
+     * @throws IOException if {@code storage} is not empty and does not contain
+     *         valid content, or an I/O error occurs
+     */
+    public CompressedRandomAccess(RandomAccess storage, int blockSize, int cachedBlocks) throws IOException {
+        checkNonNull(storage);
+
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("blockSize must be greater than zero");
+        if (cachedBlocks <= 0)
+            throw new IllegalArgumentException("cachedBlocks must be greater than zero");
+
+        this.storage = storage;
+        this.cachedBlocks = cachedBlocks;
+
+        if (storage.getLength() == 0) {
+            this.blockSize = blockSize;
+
+            storage.writeIntAt(MAGIC, 0, ByteOrder.BIG_ENDIAN);
+            storage.writeIntAt(blockSize, 4, ByteOrder.BIG_ENDIAN);
+        } else {
+            if (storage.readIntAt(0, ByteOrder.BIG_ENDIAN) != MAGIC) {
+                throw new IOException("Not a compressed content");
+            }
+
+            this.blockSize = storage.readIntAt(4, ByteOrder.BIG_ENDIAN);
+            readTrailer();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            Block block = block(blockIndex(pos), false);
+            return block == null ? 0 : block.data[blockOffset(pos)] & 0xFF;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+
+            int remaining = len;
+            while (remaining > 0) {
+                int offset = blockOffset(pos);
+                int n = Math.min(remaining, blockSize - offset);
+
+                Block block = block(blockIndex(pos), false);
+                if (block == null) {
+                    Arrays.fill(b, off, off + n, (byte) 0);
+                } else {
+                    System.arraycopy(block.data, offset, b, off, n);
+                }
+
+                pos += n;
+                off += n;
+                remaining -= n;
+            }
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        writeAt(new byte[] {(byte) b}, pos, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            while (len > 0) {
+                int offset = blockOffset(pos);
+                int n = Math.min(len, blockSize - offset);
+
+                Block block = block(blockIndex(pos), true);
+                System.arraycopy(b, off, block.data, offset, n);
+                block.dirty = true;
+
+                pos += n;
+                off += n;
+                len -= n;
+
+                if (pos > length) {
+                    length = pos;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getLength() throws IOException {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+        if(newLength > 0)
+            validatePos(newLength - 1);
+
+        ensureOpen();
+
+        synchronized (this) {
+            if (newLength < length) {
+                int firstUnused = (int) ((newLength + blockSize - 1) / blockSize);
+                cache.keySet().removeIf(index -> index >= firstUnused);
+                if (firstUnused < blockCount) {
+                    blockCount = firstUnused;
+                }
+
+                int offset = blockOffset(newLength);
+                if (offset != 0) {
+                    Block block = block(blockIndex(newLength), false);
+                    if (block != null) {
+                        Arrays.fill(block.data, offset, blockSize, (byte) 0);
+                        block.dirty = true;
+                    }
+                }
+            }
+            length = newLength;
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * Compresses all modified blocks and writes the block index into the storage.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+
+        for (Map.Entry<Integer, Block> entry : cache.entrySet()) {
+            Block block = entry.getValue();
+            if (block.dirty) {
+                writeBlock(entry.getKey(), block);
+            }
+        }
+
+        writeTrailer();
+    }
+
+    /**
+     * Flushes this {@code CompressedRandomAccess}, then closes it and the storage.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (!isOpen()) return;
+
+        try {
+            flush();
+        } finally {
+            super.close();
+
+            synchronized (this) {
+                cache.clear();
+                deflater.end();
+                inflater.end();
+            }
+            storage.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero, or
+     *         {@code pos} is beyond the maximum size that block index can address
+     */
+    @Override
+    protected void validatePos(long pos) {
+        super.validatePos(pos);
+
+        if (pos / blockSize >= Integer.MAX_VALUE - 8) {
+            throw new IndexOutOfBoundsException("pos is too large");
+        }
+    }
+
+    /**
+     * Returns block at specified index from the cache, or reads it from the storage.
+     *
+     * @param index Block index
+     * @param create {@code true} to create the block if it has never been written
+     * @return Block at {@code index}, or {@code null} if it has never been written
+     *         and {@code create} is {@code false}
+     * @throws IOException if an I/O error occurs
+     */
+    private Block block(int index, boolean create) throws IOException {
+        Block block = cache.get(index);
+        if (block != null) {
+            return block;
+        }
+
+        if (index < blockCount && offsets[index] != -1) {
+            block = new Block(inflate(offsets[index], sizes[index]));
+        } else if (create) {
+            block = new Block(new byte[blockSize]);
+        } else {
+            return null;
+        }
+
+        cache.put(index, block);
+        evictIfNeeded();
+
+        return block;
+    }
+
+    /**
+     * Evicts least recently used blocks until the cache fits {@code cachedBlocks}.
+     * Modified blocks are compressed before evicted.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void evictIfNeeded() throws IOException {
+        Iterator<Map.Entry<Integer, Block>> iterator = cache.entrySet().iterator();
+        while (cache.size() > cachedBlocks) {
+            Map.Entry<Integer, Block> eldest = iterator.next();
+            if (eldest.getValue().dirty) {
+                writeBlock(eldest.getKey(), eldest.getValue());
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Compresses {@code block} and appends it into the storage.
+     *
+     * @param index Block index
+     * @param block Block to write
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeBlock(int index, Block block) throws IOException {
+        byte[] compressed = deflate(block.data);
+        storage.writeAt(compressed, dataEnd, 0, compressed.length);
+
+        if (index >= offsets.length) {
+            int capacity = Math.max(index + 1, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        if (index >= blockCount) {
+            Arrays.fill(offsets, blockCount, index, -1);
+            blockCount = index + 1;
+        }
+
+        offsets[index] = dataEnd;
+        sizes[index] = compressed.length;
+        dataEnd += compressed.length;
+        block.dirty = false;
+    }
+
+    /**
+     * Reads the block index from the trailer in the storage.
+     *
+     * @throws IOException if the trailer is invalid or an I/O error occurs
+     */
+    private void readTrailer() throws IOException {
+        long footer = storage.getLength() - FOOTER_SIZE;
+        if (footer < HEADER_SIZE || storage.readIntAt(footer + 8, ByteOrder.BIG_ENDIAN) != MAGIC) {
+            throw new IOException("Block index is missing");
+        }
+
+        long trailer = storage.readLongAt(footer, ByteOrder.BIG_ENDIAN);
+        length = storage.readLongAt(trailer, ByteOrder.BIG_ENDIAN);
+        blockCount = storage.readIntAt(trailer + 8, ByteOrder.BIG_ENDIAN);
+
+        offsets = new long[blockCount];
+        sizes = new int[blockCount];
+
+        long entry = trailer + 12;
+        for (int i = 0; i < blockCount; i++, entry += INDEX_ENTRY_SIZE) {
+            offsets[i] = storage.readLongAt(entry, ByteOrder.BIG_ENDIAN);
+            sizes[i] = storage.readIntAt(entry + 8, ByteOrder.BIG_ENDIAN);
+        }
+
+        dataEnd = trailer;
+    }
+
+    /**
+     * Writes the block index into the storage after the last compressed block.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[12 + blockCount * INDEX_ENTRY_SIZE + FOOTER_SIZE];
+
+        ByteArrayViews.longs(ByteOrder.BIG_ENDIAN).set(trailer, 0, length);
+        ByteArrayViews.ints(ByteOrder.BIG_ENDIAN).set(trailer, 8, blockCount);
+
+        int entry = 12;
+        for (int i = 0; i < blockCount; i++, entry += INDEX_ENTRY_SIZE) {
+            ByteArrayViews.longs(ByteOrder.BIG_ENDIAN).set(trailer, entry, offsets[i]);
+            ByteArrayViews.ints(ByteOrder.BIG_ENDIAN).set(trailer, entry + 8, sizes[i]);
+        }
+
+        ByteArrayViews.longs(ByteOrder.BIG_ENDIAN).set(trailer, entry, dataEnd);
+        ByteArrayViews.ints(ByteOrder.BIG_ENDIAN).set(trailer, entry + 8, MAGIC);
+
+        storage.writeAt(trailer, dataEnd, 0, trailer.length);
+        storage.setLength(dataEnd + trailer.length);
+    }
+
+    /**
+     * Compresses {@code data}.
+     *
+     * @param data Data to compress
+     * @return Compressed bytes
+     */
+    private byte[] deflate(byte[] data) {
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+
+        byte[] buf = new byte[blockSize / 2 + 64];
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            size += deflater.deflate(buf, size, buf.length - size);
+        }
+
+        return Arrays.copyOf(buf, size);
+    }
+
+    /**
+     * Reads and decompresses block stored at {@code offset}.
+     *
+     * @param offset Storage offset of the compressed block
+     * @param size Compressed length
+     * @return Decompressed block
+     * @throws IOException if the block is corrupted or an I/O error occurs
+     */
+    private byte[] inflate(long offset, int size) throws IOException {
+        byte[] compressed = new byte[size];
+        int read = 0;
+        while (read < size) {
+            int n = storage.readAt(compressed, offset + read, read, size - read);
+            if (n == -1) {
+                throw new IOException("Compressed block is truncated");
+            }
+            read += n;
+        }
+
+        inflater.reset();
+        inflater.setInput(compressed);
+
+        byte[] data = new byte[blockSize];
+        try {
+            int total = 0;
+            while (!inflater.finished() && total < blockSize) {
+                int n = inflater.inflate(data, total, blockSize - total);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Compressed block is truncated");
+                }
+                total += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Compressed block is corrupted", e);
+        }
+
+        return data;
+    }
+
+    private int blockIndex(long pos) {
+        return (int) (pos / blockSize);
+    }
+
+    private int blockOffset(long pos) {
+        return (int) (pos % blockSize);
+    }
+
+    /**
+     * Decompressed block.
+     */
+    private static final class Block {
+
+        /**
+         * Decompressed bytes
+         */
+        private final byte[] data;
+
+        /**
+         * {@code true} if the block has been modified since it was compressed
+         */
+        private boolean dirty;
+
+        private Block(byte[] data) {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An implementation of {@code RandomAccess} that provides writing
+ * and reading from off-heap memory.
+ *
+ * <p>Data is stored in direct {@code ByteBuffer}s of fixed size, so it does not
+ * live in Java heap and does not add pressure to garbage collector. Like
+ * {@link PagedRandomAccessMemory}, pages are allocated lazily when written.
+ *
+ * <p>The native memory is released when {@link #close()} is called. Callers should always close
+ * this {@code RandomAccess}, otherwise the memory is only released when the pages are
+ * garbage collected.
+ *
+ * @author Abiddarris
+ */
+public class DirectRandomAccessMemory extends RandomAccess {
+
+    /**
+     * Default size of each page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1024 * 1024;
+
+    /**
+     * {@code log2(pageSize)}
+     */
+    private final int pageShift;
+
+    /**
+     * Size of each page
+     */
+    private final int pageSize;
+
+    /**
+     * Page table. {@code null} entry means the page is not allocated yet.
+     */
+    private ByteBuffer[] pages = new ByteBuffer[0];
+
+    /**
+     * This {@code DirectRandomAccessMemory}'s length
+     */
+    private long length;
+
+    /**
+     * Create new {@code DirectRandomAccessMemory} with {@link #DEFAULT_PAGE_SIZE}.
+     */
+    public DirectRandomAccessMemory() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Create new {@code DirectRandomAccessMemory}.
+     *
+     * @param pageSize Size of each page
+     * @throws IllegalArgumentException if {@code pageSize} is not a power of two
+     */
+    public DirectRandomAccessMemory(int pageSize) {
+        if (pageSize <= 0 || Integer.bitCount(pageSize) != 1)
+            throw new IllegalArgumentException("pageSize must be a power of two");
+
+        this.pageSize = pageSize;
+        this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            ByteBuffer page = pages[pageIndex(pos)];
+            return page == null ? 0 : page.get(pageOffset(pos)) & 0xFF;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+
+            int remaining = len;
+            while (remaining > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(remaining, pageSize - offset);
+
+                ByteBuffer page = pages[pageIndex(pos)];
+                if (page == null) {
+                    Arrays.fill(b, off, off + n, (byte) 0);
+                } else {
+                    page.get(offset, b, off, n);
+                }
+
+                pos += n;
+                off += n;
+                remaining -= n;
+            }
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            growToIfNeeded(pos + 1);
+            allocatePage(pageIndex(pos)).put(pageOffset(pos), (byte) b);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            growToIfNeeded(pos + len);
+
+            while (len > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(len, pageSize - offset);
+
+                allocatePage(pageIndex(pos)).put(offset, b, off, n);
+
+                pos += n;
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            int len = (int) Math.min(dst.remaining(), length - pos);
+
+            int remaining = len;
+            while (remaining > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(remaining, pageSize - offset);
+
+                ByteBuffer page = pages[pageIndex(pos)];
+                if (page == null) {
+                    fillZero(dst, n);
+                } else {
+                    dst.put(dst.position(), page, offset, n);
+                    dst.position(dst.position() + n);
+                }
+
+                pos += n;
+                remaining -= n;
+            }
+
+            return len;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+
+        int len = src.remaining();
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            growToIfNeeded(pos + len);
+
+            while (len > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(len, pageSize - offset);
+
+                allocatePage(pageIndex(pos)).put(offset, src, src.position(), n);
+                src.position(src.position() + n);
+
+                pos += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getLength() throws IOException {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code newLength} is less than zero, or
+     *         larger than the maximum size that page table can address
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+        if(newLength > 0)
+            validatePos(newLength - 1);
+
+        ensureOpen();
+
+        synchronized (this) {
+            if (newLength < length) {
+                shrinkTo(newLength);
+            } else {
+                growToIfNeeded(newLength);
+            }
+
+            truncatePointer(length);
+        }
+    }
+
+    /**
+     * Returns number of off-heap bytes that actually allocated by this
+     * {@code DirectRandomAccessMemory}.
+     *
+     * @return Number of allocated bytes
+     */
+    public synchronized long getAllocatedSize() {
+        long allocated = 0;
+        for (ByteBuffer page : pages) {
+            if (page != null) allocated += pageSize;
+        }
+        return allocated;
+    }
+
+    /**
+     * Close this {@code DirectRandomAccessMemory} and releases its off-heap memory.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        synchronized (this) {
+            shrinkTo(0);
+            pages = new ByteBuffer[0];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero, or
+     *         {@code pos} is beyond the maximum size that page table can address
+     */
+    @Override
+    protected void validatePos(long pos) {
+        super.validatePos(pos);
+
+        if ((pos >>> pageShift) >= Integer.MAX_VALUE - 8) {
+            throw new IndexOutOfBoundsException("pos is too large");
+        }
+    }
+
+    /**
+     * Grows this {@code DirectRandomAccessMemory} so it has at least
+     * {@code newLength} bytes. Only the page table is grown, the pages are
+     * allocated lazily when they are written.
+     *
+     * @param newLength Minimum length
+     */
+    private void growToIfNeeded(long newLength) {
+        if (newLength <= length) {
+            return;
+        }
+
+        int pageCount = pageIndex(newLength - 1) + 1;
+        if (pageCount > pages.length) {
+            long capacity = Math.max(pageCount, (long) pages.length * 2);
+            pages = Arrays.copyOf(pages, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+        }
+
+        length = newLength;
+    }
+
+    /**
+     * Shrinks this {@code DirectRandomAccessMemory} into {@code newLength}.
+     * Pages beyond {@code newLength} are released and the rest of the last page
+     * is cleared, so later growth reads zeros.
+     *
+     * @param newLength New length, must be less than or equals current length
+     */
+    private void shrinkTo(long newLength) {
+        int firstUnused = (int) ((newLength + pageSize - 1) >>> pageShift);
+        for (int i = firstUnused; i < pages.length; i++) {
+            DirectBuffers.release(pages[i]);
+            pages[i] = null;
+        }
+
+        int offset = pageOffset(newLength);
+        if (offset != 0) {
+            ByteBuffer page = pages[pageIndex(newLength)];
+            if (page != null) {
+                ByteBuffer tail = page.duplicate();
+                tail.position(offset);
+
+                while (tail.remaining() >= Long.BYTES) {
+                    tail.putLong(0);
+                }
+                while (tail.hasRemaining()) {
+                    tail.put((byte) 0);
+                }
+            }
+        }
+
+        length = newLength;
+    }
+
+    /**
+     * Returns page at specified index, allocates it if needed.
+     *
+     * @param index Page index
+     * @return Page at {@code index}
+     */
+    private ByteBuffer allocatePage(int index) {
+        ByteBuffer page = pages[index];
+        if (page == null) {
+            page = ByteBuffer.allocateDirect(pageSize);
+            pages[index] = page;
+        }
+        return page;
+    }
+
+    /**
+     * Writes {@code n} zeros into {@code dst}.
+     *
+     * @param dst Buffer to fill
+     * @param n Number of zeros
+     */
+    private static void fillZero(ByteBuffer dst, int n) {
+        while (n >= Long.BYTES) {
+            dst.putLong(0);
+            n -= Long.BYTES;
+        }
+        while (n-- > 0) {
+            dst.put((byte) 0);
+        }
+    }
+
+    private int pageIndex(long pos) {
+        return (int) (pos >>> pageShift);
+    }
+
+    private int pageOffset(long pos) {
+        return (int) (pos & (pageSize - 1));
+    }
+}
@@ -15,8 +15,11 @@
  ***********************************************************************************/
 package com.abiddarris.common.randomaccess;
 
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 /**
  * Provides independent reading of {@code RandomAccess}.
@@ -29,9 +32,25 @@ import java.io.InputStream;
  * <p>Regular {@code InputStream} only delegates the call into {@code RandomAccess} itself. 
  * Meaning any call to {@code InputStream} will affect {@code RandomAccess} and vice virca.
  *
+ * <p>{@code IndependentInputStream} reads ahead into its own buffer. The read-ahead window
+ * starts small and doubles on every sequential refill up to a maximum size, so small reads
+ * are served from the buffer instead of calling {@code RandomAccess}. Because of this,
+ * bytes written into {@code RandomAccess} after they have been buffered may not be visible
+ * to this stream.
+ *
  * @author Abiddarris
  */
 public class IndependentAccessInputStream extends InputStream {
+
+    /**
+     * Default initial size of read-ahead window
+     */
+    public static final int DEFAULT_INITIAL_WINDOW = 512;
+
+    /**
+     * Default maximum size of read-ahead window
+     */
+    public static final int DEFAULT_MAX_WINDOW = 64 * 1024;
   
     /**
      * {@code RandomAccess} instance
@@ -43,15 +62,76 @@ public class IndependentAccessInputStream extends InputStream {
      */
     private long pointer = 0;
 
+    /**
+     * Initial size of read-ahead window
+     */
+    private final int initialWindow;
+
+    /**
+     * Maximum size of read-ahead window
+     */
+    private final int maxWindow;
+
+    /**
+     * Current size of read-ahead window
+     */
+    private int window;
+
+    /**
+     * Read-ahead buffer
+     */
+    private byte[] buffer = new byte[0];
+
+    /**
+     * Position of {@code buffer[0]} in {@code RandomAccess}
+     */
+    private long bufferStart;
+
+    /**
+     * Number of valid bytes in {@code buffer}
+     */
+    private int bufferLength;
+
+    /**
+     * Position right after the last byte read from {@code RandomAccess}
+     */
+    private long nextSequential = -1;
+
     /**
      * Create new {@code IndependentAccessInputStream} from specified
-     * {@code RandomAccess}.
+     * {@code RandomAccess} with {@link #DEFAULT_INITIAL_WINDOW} and
+     * {@link #DEFAULT_MAX_WINDOW}.
      *
      * @param randomAccess RandomAccess
      * @throws NullPointerException If {@code randomAccess} is {@code null}
      */
     public IndependentAccessInputStream(RandomAccess randomAccess) {
+        this(randomAccess, DEFAULT_INITIAL_WINDOW, DEFAULT_MAX_WINDOW);
+    }
+
+    /**
+     * Create new {@code IndependentAccessInputStream} from specified
+     * {@code RandomAccess}.
+     *
+     * @param randomAccess RandomAccess
+     * @param initialWindow Initial size of read-ahead window
+     * @param maxWindow Maximum size of read-ahead window
+     * @throws NullPointerException If {@code randomAccess} is {@code null}
+     * @throws IllegalArgumentException If {@code initialWindow} is less than or equals
+     *         zero, or {@code maxWindow} is less than {@code initialWindow}
+     */
+    public IndependentAccessInputStream(RandomAccess randomAccess, int initialWindow, int maxWindow) {
+        checkNonNull(randomAccess);
+
+        if (initialWindow <= 0)
+            throw new IllegalArgumentException("initialWindow must be greater than zero");
+        if (maxWindow < initialWindow)
+            throw new IllegalArgumentException("maxWindow cannot be less than initialWindow");
+
         this.randomAccess = randomAccess;
+        this.initialWindow = initialWindow;
+        this.maxWindow = maxWindow;
+        this.window = initialWindow;
     }
     
     /**
@@ -66,10 +146,11 @@ public class IndependentAccessInputStream extends InputStream {
      */
     @Override
     public synchronized int read() throws IOException {
-        int b = randomAccess.readAt(pointer);     
-        if(b != -1) pointer++;
-        
-        return b;
+        if (buffered() == 0 && !fill()) {
+            return -1;
+        }
+
+        return buffer[(int) (pointer++ - bufferStart)] & 0xFF;
     }
 
     /**
@@ -90,11 +171,41 @@ public class IndependentAccessInputStream extends InputStream {
      */
     @Override
     public synchronized int read(byte[] b, int off, int len) throws IOException {
-        len = randomAccess.readAt(b, pointer, off, len);
-        if(len > 0) {
-            pointer += len;
+        checkNonNull(b);
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len == 0) return 0;
+
+        int total = 0;
+        while (total < len) {
+            int available = buffered();
+            if (available > 0) {
+                int n = Math.min(available, len - total);
+                System.arraycopy(buffer, (int) (pointer - bufferStart), b, off + total, n);
+
+                pointer += n;
+                total += n;
+                continue;
+            }
+
+            int remaining = len - total;
+            if (remaining >= window) {
+                int read = randomAccess.readAt(b, pointer, off + total, remaining);
+                if (read == -1) break;
+
+                advanceWindow(pointer);
+                pointer += read;
+                nextSequential = pointer;
+                total += read;
+
+                if (read < remaining) break;
+                continue;
+            }
+
+            if (!fill()) break;
         }
-        return len;
+
+        return total == 0 ? -1 : total;
     }
 
     /**
@@ -120,9 +231,11 @@ public class IndependentAccessInputStream extends InputStream {
             long length = randomAccess.getLength();
             long newPointer = pointer + n;
             if(newPointer > length) newPointer = length;     
-            
+            if(newPointer < pointer) return 0;
+
+            long skipped = newPointer - pointer;
             this.pointer = newPointer;
-            return newPointer - pointer;
+            return skipped;
         }      
     }
 
@@ -162,4 +275,57 @@ public class IndependentAccessInputStream extends InputStream {
         randomAccess.close();
     }
 
+    /**
+     * Returns number of buffered bytes available at current pointer.
+     *
+     * @return Number of buffered bytes
+     */
+    private int buffered() {
+        long offset = pointer - bufferStart;
+        if (offset < 0 || offset >= bufferLength) {
+            return 0;
+        }
+        return (int) (bufferLength - offset);
+    }
+
+    /**
+     * Fills the read-ahead buffer starting from current pointer.
+     *
+     * @return {@code false} if end of {@code RandomAccess} has been reached
+     * @throws IOException If an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        advanceWindow(pointer);
+
+        if (buffer.length < window) {
+            buffer = new byte[window];
+        }
+
+        int read = randomAccess.readAt(buffer, pointer, 0, window);
+        if (read == -1) {
+            bufferLength = 0;
+            return false;
+        }
+
+        bufferStart = pointer;
+        bufferLength = read;
+        nextSequential = pointer + read;
+
+        return true;
+    }
+
+    /**
+     * Doubles the read-ahead window if reading from {@code pos} continues
+     * the previous read, otherwise shrinks it back to initial size.
+     *
+     * @param pos Position of the next read from {@code RandomAccess}
+     */
+    private void advanceWindow(long pos) {
+        if (pos == nextSequential) {
+            window = (int) Math.min((long) window * 2, maxWindow);
+        } else {
+            window = initialWindow;
+        }
+    }
+
 }
@@ -0,0 +1,856 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Crash safe {@code RandomAccess} that records every modification into a journal
+ * before it reaches the main file.
+ *
+ * <p>Each {@code writeAt} and {@code setLength} appends a record to the journal and
+ * returns only after the record is forced to the storage device. Writers that arrive
+ * while a force is in progress are acknowledged together by the next force, so many
+ * concurrent writers share a single {@link FileChannel#force(boolean)}.
+ *
+ * <p>Acknowledged modifications are kept in memory and served by reads until they are
+ * checkpointed into the main file. A checkpoint is started on {@link #getAsyncExecutor()}
+ * when the journal grows beyond the checkpoint threshold, or explicitly by
+ * {@link #checkpoint()}. The main file is only modified by checkpoints, so a crash
+ * never leaves it with a partially applied write that is not in the journal.
+ *
+ * <p>Two journal files are used in turn. A checkpoint moves the pending modifications
+ * aside and switches new records to the other journal while holding the lock, then writes
+ * the modifications into the main file and forces it without the lock, so reads and writes
+ * continue during the checkpoint.
+ *
+ * <p>When opened, records of both journals are replayed into the main file, older journal
+ * first. Replay of a journal stops at its first torn or corrupted record, which belongs to
+ * a write that was never acknowledged.
+ *
+ * @author Abiddarris
+ */
+public class JournaledRandomAccess extends RandomAccess {
+
+    /**
+     * Default journal size that triggers a checkpoint
+     */
+    public static final long DEFAULT_CHECKPOINT_THRESHOLD = 4 * 1024 * 1024;
+
+    private static final byte WRITE = 1;
+    private static final byte SET_LENGTH = 2;
+
+    /**
+     * Size of record header: crc, type, position and length
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Size of journal header: generation and crc of generation
+     */
+    private static final int JOURNAL_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Main file
+     */
+    private final FileChannel main;
+
+    /**
+     * Both journal files, used in turn
+     */
+    private final FileChannel[] journals = new FileChannel[2];
+
+    /**
+     * Journal that receives new records
+     */
+    private volatile FileChannel journal;
+
+    /**
+     * Journal whose records are being checkpointed, {@code null} if none
+     */
+    private volatile FileChannel retired;
+
+    /**
+     * Journal size that triggers a checkpoint
+     */
+    private final long checkpointThreshold;
+
+    /**
+     * Guards every field below except the ones guarded by {@code commitLock}
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Modifications that have not been checkpointed yet
+     */
+    private TreeMap<Long, Extent> pending = new TreeMap<>();
+
+    /**
+     * Logical length
+     */
+    private long length;
+
+    /**
+     * Bytes of the main file at or after this position are discarded on next checkpoint
+     */
+    private long truncateTo = Long.MAX_VALUE;
+
+    /**
+     * Modifications that are being written into the main file by a checkpoint,
+     * not modified until the checkpoint finishes
+     */
+    private TreeMap<Long, Extent> checkpointing = new TreeMap<>();
+
+    /**
+     * Position the running checkpoint truncates the main file at
+     */
+    private long checkpointingTruncateTo = Long.MAX_VALUE;
+
+    /**
+     * Length the running checkpoint extends the main file to
+     */
+    private long checkpointingLength;
+
+    /**
+     * Sequence of the last record in the retired journal
+     */
+    private long retiredSeq;
+
+    /**
+     * Generation of {@code journal}, orders both journals on replay
+     */
+    private long generation;
+
+    /**
+     * Size of the journal that receives new records
+     */
+    private volatile long journalSize;
+
+    /**
+     * Size of the retired journal
+     */
+    private volatile long retiredSize;
+
+    /**
+     * Total bytes ever appended to the journal, used as record sequence
+     */
+    private volatile long appendedSeq;
+
+    /**
+     * Guards {@code durableSeq} and {@code forcing}
+     */
+    private final Object commitLock = new Object();
+
+    /**
+     * All records up to this sequence are durable
+     */
+    private long durableSeq;
+
+    /**
+     * Whether a writer is currently forcing the journal
+     */
+    private boolean forcing;
+
+    /**
+     * Serializes checkpoints
+     */
+    private final Object checkpointLock = new Object();
+
+    /**
+     * Whether a background checkpoint is scheduled
+     */
+    private final AtomicBoolean checkpointScheduled = new AtomicBoolean();
+
+    /**
+     * Failure of last background checkpoint, {@code null} if none
+     */
+    private volatile IOException checkpointFailure;
+
+    /**
+     * Create new {@code JournaledRandomAccess} with {@link #DEFAULT_CHECKPOINT_THRESHOLD}.
+     *
+     * @param file Main file
+     * @param journal Journal file
+     * @throws NullPointerException if {@code file} or {@code journal} is {@code null}
+     * @throws IOException if an I/O error occurs
+     * @see #JournaledRandomAccess(File, File, long)
+     */
+    public JournaledRandomAccess(File file, File journal) throws IOException {
+        this(file, journal, DEFAULT_CHECKPOINT_THRESHOLD);
+    }
+
+    /**
+     * Create new {@code JournaledRandomAccess}. The main file, {@code journal} and a second
+     * journal named by appending {@code ".1"} to {@code journal} are created if they do not
+     * exist, then records left in both journals are replayed into {@code file}.
+     *
+     * @param file Main file
+     * @param journal Journal file
+     * @param checkpointThreshold Journal size that triggers a background checkpoint
+     * @throws NullPointerException if {@code file} or {@code journal} is {@code null}
+     * @throws IllegalArgumentException if {@code checkpointThreshold} is less than or equals zero
+     * @throws IOException if an I/O error occurs
+     */
+    public JournaledRandomAccess(File file, File journal, long checkpointThreshold) throws IOException {
+        checkNonNull(file);
+        checkNonNull(journal);
+
+        if (checkpointThreshold <= 0)
+            throw new IllegalArgumentException("checkpointThreshold must be greater than zero");
+
+        this.checkpointThreshold = checkpointThreshold;
+        this.main = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            journals[0] = FileChannel.open(journal.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            journals[1] = FileChannel.open(new File(journal.getPath() + ".1").toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            main.close();
+            if (journals[0] != null) {
+                journals[0].close();
+            }
+            throw e;
+        }
+        this.journal = journals[0];
+
+        try {
+            length = main.size();
+            replay();
+
+            apply(pending, truncateTo, length);
+            main.force(true);
+
+            for (FileChannel channel : journals) {
+                channel.truncate(0);
+                channel.force(true);
+            }
+            pending.clear();
+            truncateTo = Long.MAX_VALUE;
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        byte[] b = new byte[1];
+        return readAt(b, pos, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Acknowledged writes that have not been checkpointed are visible to this method.
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        lock.readLock().lock();
+        try {
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+
+            long mainEnd = Math.min(Math.min(truncateTo, checkpointingTruncateTo), main.size());
+            int fromMain = (int) Math.max(0, Math.min(len, mainEnd - pos));
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, fromMain);
+            while (buffer.hasRemaining()) {
+                if (main.read(buffer, pos + buffer.position() - off) == -1) break;
+            }
+            Arrays.fill(b, buffer.position(), off + len, (byte) 0);
+
+            long end = pos + len;
+            copyRanges(checkpointing, b, pos, off, Math.min(end, truncateTo));
+            copyRanges(pending, b, pos, off, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        writeAt(new byte[] {(byte) b}, pos, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method returns after the write is durable in the journal.
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        long seq;
+        lock.writeLock().lock();
+        try {
+            checkCheckpointFailure();
+
+            seq = append(WRITE, pos, b, off, len);
+            applyWrite(b, pos, off, len);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(seq);
+        scheduleCheckpoint();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        lock.readLock().lock();
+        try {
+            return length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method returns after the change is durable in the journal.
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        long seq;
+        lock.writeLock().lock();
+        try {
+            checkCheckpointFailure();
+
+            seq = append(SET_LENGTH, newLength, new byte[0], 0, 0);
+            applySetLength(newLength);
+
+            truncatePointer(newLength);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(seq);
+        scheduleCheckpoint();
+    }
+
+    /**
+     * Writes all acknowledged modifications into the main file, forces it
+     * and empties the journal. Reads and writes are not blocked while the
+     * modifications are written.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void checkpoint() throws IOException {
+        ensureOpen();
+
+        synchronized (checkpointLock) {
+            doCheckpoint();
+        }
+    }
+
+    /**
+     * Returns size of both journals, which is the amount of modifications
+     * that have not been checkpointed yet.
+     *
+     * @return Size of the journals in bytes
+     */
+    public long getJournalSize() {
+        return journalSize + retiredSize;
+    }
+
+    /**
+     * Checkpoints, then closes this {@code JournaledRandomAccess} and both files.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (!isOpen()) return;
+
+        super.close();
+
+        try {
+            synchronized (checkpointLock) {
+                if (main.isOpen() && journals[0].isOpen() && journals[1].isOpen()) {
+                    doCheckpoint();
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                main.close();
+            } finally {
+                try {
+                    journals[0].close();
+                } finally {
+                    journals[1].close();
+                }
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Appends a record to the journal without forcing it.
+     *
+     * @return Sequence that must be durable before the record is acknowledged
+     */
+    private long append(byte type, long pos, byte[] b, int off, int len) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + len);
+        record.position(Integer.BYTES);
+        record.put(type)
+            .putLong(pos)
+            .putInt(len)
+            .put(b, off, len);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), Integer.BYTES, record.capacity() - Integer.BYTES);
+        record.putInt(0, (int) crc.getValue());
+
+        record.flip();
+        long position = journalSize;
+        if (position == 0) {
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+            header.putLong(generation);
+
+            crc.reset();
+            crc.update(header.array(), 0, Long.BYTES);
+            header.putInt((int) crc.getValue());
+
+            header.flip();
+            writeFully(journal, header, position);
+            position += JOURNAL_HEADER_SIZE;
+        }
+        writeFully(journal, record, position);
+        position += record.capacity();
+
+        appendedSeq += position - journalSize;
+        journalSize = position;
+
+        return appendedSeq;
+    }
+
+    /**
+     * Blocks until all records up to {@code seq} are durable. The first waiting writer
+     * forces the journal on behalf of every record appended so far, others wait for it.
+     */
+    private void awaitDurable(long seq) throws IOException {
+        while (true) {
+            long target;
+            synchronized (commitLock) {
+                while (forcing && durableSeq < seq) {
+                    try {
+                        commitLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if (durableSeq >= seq) return;
+
+                forcing = true;
+                target = appendedSeq;
+            }
+
+            boolean forced = false;
+            try {
+                FileChannel active = journal;
+                FileChannel previous = retired;
+
+                active.force(false);
+                if (previous != null) {
+                    previous.force(false);
+                }
+                forced = true;
+            } finally {
+                synchronized (commitLock) {
+                    forcing = false;
+                    if (forced) {
+                        durableSeq = Math.max(durableSeq, target);
+                    }
+                    commitLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checkpoints on {@link #getAsyncExecutor()} if the journal exceeds the threshold.
+     * The checkpoint blocks a thread of the executor while writing and forcing the main
+     * file, so {@link #setAsyncExecutor} should be given
+     * a dedicated executor when the common pool must not be blocked.
+     */
+    private void scheduleCheckpoint() {
+        if (journalSize < checkpointThreshold) return;
+        if (!checkpointScheduled.compareAndSet(false, true)) return;
+
+        getAsyncExecutor().execute(() -> {
+            try {
+                if (isOpen()) {
+                    checkpoint();
+                }
+            } catch (IOException e) {
+                checkpointFailure = e;
+            } finally {
+                checkpointScheduled.set(false);
+            }
+        });
+    }
+
+    private void checkCheckpointFailure() throws IOException {
+        IOException failure = checkpointFailure;
+        if (failure != null) {
+            throw new IOException("Background checkpoint failed", failure);
+        }
+    }
+
+    /**
+     * Finishes a checkpoint that failed before, then checkpoints every acknowledged
+     * modification. Must be called with {@code checkpointLock} held.
+     */
+    private void doCheckpoint() throws IOException {
+        if (retired != null) {
+            finishCheckpoint();
+        }
+        if (startCheckpoint()) {
+            finishCheckpoint();
+        }
+    }
+
+    /**
+     * Moves pending modifications aside and switches new records to the other journal.
+     *
+     * @return {@code false} if there is nothing to checkpoint
+     */
+    private boolean startCheckpoint() {
+        lock.writeLock().lock();
+        try {
+            if (journalSize == 0) return false;
+
+            checkpointing = pending;
+            checkpointingTruncateTo = truncateTo;
+            checkpointingLength = length;
+            pending = new TreeMap<>();
+            truncateTo = Long.MAX_VALUE;
+
+            retiredSeq = appendedSeq;
+            retiredSize = journalSize;
+            retired = journal;
+            journal = journal == journals[0] ? journals[1] : journals[0];
+            journalSize = 0;
+            generation++;
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes modifications moved aside by {@link #startCheckpoint()} into the main file
+     * and empties the retired journal. The lock is only held to drop the modifications
+     * once they are durable in the main file.
+     */
+    private void finishCheckpoint() throws IOException {
+        apply(checkpointing, checkpointingTruncateTo, checkpointingLength);
+        main.force(true);
+
+        synchronized (commitLock) {
+            durableSeq = Math.max(durableSeq, retiredSeq);
+            commitLock.notifyAll();
+        }
+
+        retired.truncate(0);
+        retired.force(true);
+
+        lock.writeLock().lock();
+        try {
+            checkpointing = new TreeMap<>();
+            checkpointingTruncateTo = Long.MAX_VALUE;
+            retired = null;
+            retiredSize = 0;
+            checkpointFailure = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes {@code ranges} into the main file without forcing it.
+     *
+     * @param ranges Ranges to write
+     * @param truncateTo Position the main file is truncated at before writing
+     * @param length Length the main file is extended to after writing
+     */
+    private void apply(TreeMap<Long, Extent> ranges, long truncateTo, long length) throws IOException {
+        if (truncateTo < main.size()) {
+            main.truncate(truncateTo);
+        }
+        for (Map.Entry<Long, Extent> entry : ranges.entrySet()) {
+            Extent extent = entry.getValue();
+            writeFully(main, ByteBuffer.wrap(extent.data, 0, extent.length), entry.getKey());
+        }
+        if (main.size() < length) {
+            writeFully(main, ByteBuffer.allocate(1), length - 1);
+        }
+    }
+
+    /**
+     * Replays both journals, older generation first.
+     */
+    private void replay() throws IOException {
+        long first = readGeneration(journals[0]);
+        long second = readGeneration(journals[1]);
+
+        if (first <= second) {
+            replay(journals[0]);
+            replay(journals[1]);
+        } else {
+            replay(journals[1]);
+            replay(journals[0]);
+        }
+    }
+
+    /**
+     * Returns generation written at the start of {@code channel}.
+     *
+     * @return Generation, or {@code -1} if the journal has no valid header
+     */
+    private static long readGeneration(FileChannel channel) throws IOException {
+        if (channel.size() < JOURNAL_HEADER_SIZE) return -1;
+
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE);
+        readFully(channel, header, 0);
+
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, Long.BYTES);
+        if ((int) crc.getValue() != header.getInt(Long.BYTES)) return -1;
+
+        return header.getLong(0);
+    }
+
+    /**
+     * Reads records from {@code channel} until its end or the first invalid record.
+     */
+    private void replay(FileChannel channel) throws IOException {
+        if (readGeneration(channel) == -1) return;
+
+        long size = channel.size();
+        long position = JOURNAL_HEADER_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (size - position >= HEADER_SIZE) {
+            header.clear();
+            readFully(channel, header, position);
+
+            int checksum = header.getInt(0);
+            byte type = header.get(Integer.BYTES);
+            long pos = header.getLong(Integer.BYTES + 1);
+            int len = header.getInt(Integer.BYTES + 1 + Long.BYTES);
+            if (pos < 0 || len < 0 || len > size - position - HEADER_SIZE) break;
+
+            ByteBuffer data = ByteBuffer.allocate(len);
+            readFully(channel, data, position + HEADER_SIZE);
+
+            CRC32C crc = new CRC32C();
+            crc.update(header.array(), Integer.BYTES, HEADER_SIZE - Integer.BYTES);
+            crc.update(data.array());
+            if ((int) crc.getValue() != checksum) break;
+
+            if (type == WRITE && len > 0) {
+                applyWrite(data.array(), pos, 0, len);
+            } else if (type == SET_LENGTH) {
+                applySetLength(pos);
+            } else {
+                break;
+            }
+
+            position += HEADER_SIZE + len;
+        }
+    }
+
+    private void applyWrite(byte[] b, long pos, int off, int len) {
+        long end = pos + len;
+        NavigableMap<Long, Extent> overlapping = overlapping(pos, end + 1);
+
+        Map.Entry<Long, Extent> first = overlapping.firstEntry();
+        if (overlapping.size() == 1 && first.getKey() <= pos) {
+            first.getValue().write(b, off, (int) (pos - first.getKey()), len);
+        } else {
+            long start = pos;
+            long newEnd = end;
+            for (Map.Entry<Long, Extent> entry : overlapping.entrySet()) {
+                start = Math.min(start, entry.getKey());
+                newEnd = Math.max(newEnd, entry.getKey() + entry.getValue().length);
+            }
+
+            Extent merged = new Extent((int) (newEnd - start));
+            for (Map.Entry<Long, Extent> entry : overlapping.entrySet()) {
+                Extent extent = entry.getValue();
+                merged.write(extent.data, 0, (int) (entry.getKey() - start), extent.length);
+            }
+            merged.write(b, off, (int) (pos - start), len);
+
+            overlapping.clear();
+            pending.put(start, merged);
+        }
+
+        length = Math.max(length, end);
+    }
+
+    private void applySetLength(long newLength) {
+        if (newLength < length) {
+            pending.tailMap(newLength, true).clear();
+
+            Map.Entry<Long, Extent> last = pending.lastEntry();
+            if (last != null && last.getKey() + last.getValue().length > newLength) {
+                last.getValue().length = (int) (newLength - last.getKey());
+            }
+
+            truncateTo = Math.min(truncateTo, newLength);
+        }
+
+        length = newLength;
+    }
+
+    /**
+     * Copies the part of {@code ranges} within {@code [pos, end)} into {@code b}.
+     *
+     * @param ranges Ranges to copy from
+     * @param b Destination, {@code b[off]} corresponds to {@code pos}
+     * @param pos Starting position
+     * @param off Offset of {@code b}
+     * @param end End position, exclusive
+     */
+    private static void copyRanges(TreeMap<Long, Extent> ranges, byte[] b, long pos, int off, long end) {
+        if (end <= pos) return;
+
+        for (Map.Entry<Long, Extent> entry : overlapping(ranges, pos, end).entrySet()) {
+            long start = entry.getKey();
+            Extent extent = entry.getValue();
+
+            long from = Math.max(start, pos);
+            long to = Math.min(start + extent.length, end);
+            if (from >= to) continue;
+
+            System.arraycopy(extent.data, (int) (from - start), b, off + (int) (from - pos), (int) (to - from));
+        }
+    }
+
+    /**
+     * Returns pending ranges that overlap {@code [pos, end)}.
+     *
+     * @param pos Starting position
+     * @param end End position, exclusive
+     * @return View of overlapping pending ranges
+     */
+    private NavigableMap<Long, Extent> overlapping(long pos, long end) {
+        return overlapping(pending, pos, end);
+    }
+
+    private static NavigableMap<Long, Extent> overlapping(TreeMap<Long, Extent> ranges, long pos, long end) {
+        long from = pos;
+
+        Map.Entry<Long, Extent> floor = ranges.floorEntry(pos);
+        if (floor != null && floor.getKey() + floor.getValue().length >= pos) {
+            from = floor.getKey();
+        }
+
+        return ranges.subMap(from, true, end, false);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long pos) throws IOException {
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long pos) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, pos + buffer.position());
+            if (read == -1) break;
+        }
+    }
+
+    /**
+     * Pending range that grows in place, so sequential writes do not copy the whole range.
+     */
+    private static final class Extent {
+
+        /**
+         * Range content, only the first {@code length} bytes are valid
+         */
+        private byte[] data;
+
+        /**
+         * Number of valid bytes in {@code data}
+         */
+        private int length;
+
+        private Extent(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        /**
+         * Writes {@code len} bytes of {@code b} at {@code offset} of this extent, growing it if needed.
+         */
+        private void write(byte[] b, int off, int offset, int len) {
+            int end = offset + len;
+            if (end > data.length) {
+                data = Arrays.copyOf(data, Math.max(end, data.length * 2));
+            }
+
+            System.arraycopy(b, off, data, offset, len);
+            length = Math.max(length, end);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * {@link RandomAccess} implementation that serves reads and writes from
+ * memory mapped file.
+ *
+ * <p>The file is mapped in chunks of fixed size, so files larger than
+ * {@code Integer.MAX_VALUE} bytes can be accessed. Chunks are remapped
+ * when the file grows through {@link #setLength(long)} or by writing past the end.
+ *
+ * <p>Writing past the end grows the file geometrically up to the next chunk
+ * boundary, so appending does not remap the file on every write. The file is
+ * trimmed to its length when closed or when {@link #setLength(long)} is called.
+ * If the process dies before that, the file may keep trailing zeros.
+ *
+ * <p>Reads do not hold any lock and do not perform any system call, the data
+ * is served directly from the page cache.
+ *
+ * <p>Mapped regions are only released when garbage collected, so
+ * truncating the file while other thread still reading from it may results in
+ * undefined behaviour.
+ *
+ * @author Abiddarris
+ */
+public class MappedRandomAccess extends RandomAccess {
+
+    /**
+     * Default size of each mapped chunk
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    /**
+     * Channel of the mapped file
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mode used to map the file
+     */
+    private final MapMode mapMode;
+
+    /**
+     * Size of each chunk
+     */
+    private final int chunkSize;
+
+    /**
+     * Current mapping of the file
+     */
+    private volatile Mapping mapping = new Mapping(new MappedByteBuffer[0], 0, 0);
+
+    /**
+     * Create a new {@code MappedRandomAccess} with {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param file File to map
+     * @param mode Open mode. See {@link java.io.RandomAccessFile} for more information
+     * @throws IOException If unable to open or map the file
+     */
+    public MappedRandomAccess(File file, String mode) throws IOException {
+        this(file, mode, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new {@code MappedRandomAccess}.
+     *
+     * @param file File to map
+     * @param mode Open mode. See {@link java.io.RandomAccessFile} for more information
+     * @param chunkSize Size of each mapped chunk
+     * @throws IllegalArgumentException If {@code chunkSize} is less than or equals zero
+     * @throws IOException If unable to open or map the file
+     */
+    public MappedRandomAccess(File file, String mode, int chunkSize) throws IOException {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be greater than zero");
+
+        this.chunkSize = chunkSize;
+        this.mapMode = mode.equals("r") ? MapMode.READ_ONLY : MapMode.READ_WRITE;
+        this.channel = new java.io.RandomAccessFile(file, mode).getChannel();
+
+        long size = channel.size();
+        remap(size, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        Mapping mapping = this.mapping;
+        if (pos >= mapping.length) return -1;
+
+        return mapping.chunks[chunkIndex(pos)].get(chunkOffset(pos)) & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        Mapping mapping = this.mapping;
+        if (pos >= mapping.length) return -1;
+
+        len = (int) Math.min(len, mapping.length - pos);
+
+        int remaining = len;
+        while (remaining > 0) {
+            int offset = chunkOffset(pos);
+            int n = Math.min(remaining, chunkSize - offset);
+
+            mapping.chunks[chunkIndex(pos)].get(offset, b, off, n);
+
+            pos += n;
+            off += n;
+            remaining -= n;
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        ensureWritable();
+
+        Mapping mapping = growToIfNeeded(pos + 1);
+        mapping.chunks[chunkIndex(pos)].put(chunkOffset(pos), (byte) b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        ensureWritable();
+
+        if (len == 0) return;
+
+        Mapping mapping = growToIfNeeded(pos + len);
+        while (len > 0) {
+            int offset = chunkOffset(pos);
+            int n = Math.min(len, chunkSize - offset);
+
+            mapping.chunks[chunkIndex(pos)].put(offset, b, off, n);
+
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        Mapping mapping = this.mapping;
+        if (pos >= mapping.length) return -1;
+
+        int len = (int) Math.min(dst.remaining(), mapping.length - pos);
+
+        int remaining = len;
+        while (remaining > 0) {
+            int offset = chunkOffset(pos);
+            int n = Math.min(remaining, chunkSize - offset);
+
+            dst.put(dst.position(), mapping.chunks[chunkIndex(pos)], offset, n);
+            dst.position(dst.position() + n);
+
+            pos += n;
+            remaining -= n;
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+        ensureWritable();
+
+        int len = src.remaining();
+        if (len == 0) return;
+
+        Mapping mapping = growToIfNeeded(pos + len);
+        while (len > 0) {
+            int offset = chunkOffset(pos);
+            int n = Math.min(len, chunkSize - offset);
+
+            mapping.chunks[chunkIndex(pos)].put(offset, src, src.position(), n);
+            src.position(src.position() + n);
+
+            pos += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        return mapping.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+        ensureWritable();
+
+        synchronized (this) {
+            Mapping mapping = this.mapping;
+            if (newLength < mapping.capacity) {
+                remap(newLength, newLength);
+                channel.truncate(newLength);
+            } else if (newLength > mapping.capacity) {
+                extend(newLength, newLength);
+            } else {
+                this.mapping = new Mapping(mapping.chunks, newLength, newLength);
+            }
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        try {
+            synchronized (this) {
+                Mapping mapping = this.mapping;
+                this.mapping = new Mapping(new MappedByteBuffer[0], 0, 0);
+
+                if (mapMode != MapMode.READ_ONLY && mapping.capacity > mapping.length) {
+                    channel.truncate(mapping.length);
+                }
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Ensure the file is mapped in writable mode.
+     *
+     * @throws IOException If the file is opened in read only mode
+     */
+    private void ensureWritable() throws IOException {
+        if (mapMode == MapMode.READ_ONLY) {
+            throw new IOException("File is opened in read only mode");
+        }
+    }
+
+    /**
+     * Grows this {@code RandomAccess} so it has at least {@code minLength} bytes.
+     * The file is only extended when {@code minLength} exceeds the mapped capacity.
+     *
+     * @param minLength Minimum length
+     * @return Mapping that covers {@code minLength}
+     * @throws IOException If an I/O error occurs
+     */
+    private Mapping growToIfNeeded(long minLength) throws IOException {
+        Mapping mapping = this.mapping;
+        if (minLength <= mapping.length) {
+            return mapping;
+        }
+
+        synchronized (this) {
+            mapping = this.mapping;
+            if (minLength <= mapping.length) {
+                return mapping;
+            }
+
+            if (minLength <= mapping.capacity) {
+                this.mapping = new Mapping(mapping.chunks, minLength, mapping.capacity);
+            } else {
+                long chunkEnd = (minLength + chunkSize - 1) / chunkSize * chunkSize;
+                long capacity = Math.max(minLength, Math.min(chunkEnd, mapping.capacity * 2));
+
+                extend(capacity, minLength);
+            }
+            return this.mapping;
+        }
+    }
+
+    /**
+     * Extends the file into {@code capacity} bytes if it is smaller, and remaps it.
+     *
+     * @param capacity New size of the file
+     * @param length New length of this {@code RandomAccess}
+     * @throws IOException If an I/O error occurs
+     */
+    private void extend(long capacity, long length) throws IOException {
+        if (capacity > channel.size()) {
+            ByteBuffer zero = ByteBuffer.allocate(1);
+            while (zero.hasRemaining()) {
+                channel.write(zero, capacity - 1);
+            }
+        }
+
+        remap(capacity, length);
+    }
+
+    /**
+     * Maps the file region {@code [0, capacity)}. Full chunks that are
+     * already mapped are reused.
+     *
+     * @param capacity Length of region to map
+     * @param length Length of this {@code RandomAccess}, not greater than {@code capacity}
+     * @throws IOException If an I/O error occurs
+     */
+    private void remap(long capacity, long length) throws IOException {
+        MappedByteBuffer[] oldChunks = mapping.chunks;
+        int count = (int) ((capacity + chunkSize - 1) / chunkSize);
+        MappedByteBuffer[] newChunks = new MappedByteBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            long start = (long) i * chunkSize;
+            int size = (int) Math.min(chunkSize, capacity - start);
+
+            if (i < oldChunks.length && oldChunks[i].capacity() == size) {
+                newChunks[i] = oldChunks[i];
+            } else {
+                newChunks[i] = channel.map(mapMode, start, size);
+            }
+        }
+
+        mapping = new Mapping(newChunks, length, capacity);
+    }
+
+    private int chunkIndex(long pos) {
+        return (int) (pos / chunkSize);
+    }
+
+    private int chunkOffset(long pos) {
+        return (int) (pos % chunkSize);
+    }
+
+    /**
+     * Immutable snapshot of mapped chunks, the size they cover and the length
+     * of this {@code RandomAccess}.
+     */
+    private static final class Mapping {
+
+        /**
+         * Mapped chunks. Every chunk has {@code chunkSize} bytes except the last one.
+         */
+        private final MappedByteBuffer[] chunks;
+
+        /**
+         * Length of this {@code RandomAccess}
+         */
+        private final long length;
+
+        /**
+         * Size of the mapped region, bytes after {@code length} are zero
+         */
+        private final long capacity;
+
+        private Mapping(MappedByteBuffer[] chunks, long length, long capacity) {
+            this.chunks = chunks;
+            this.length = length;
+            this.capacity = capacity;
+        }
+    }
+}
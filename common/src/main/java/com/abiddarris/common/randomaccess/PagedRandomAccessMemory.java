@@ -0,0 +1,529 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An implementation of {@code RandomAccess} that provides writing
+ * and reading from memory using fixed size pages.
+ *
+ * <p>Unlike {@link RandomAccessMemory}, growing this {@code RandomAccess}
+ * never copies the written data, it only allocates new pages. Pages that
+ * have never been written are not allocated and read as zeros.
+ *
+ * <p>{@link #snapshot()} returns a read-only point-in-time view that shares
+ * pages with this {@code PagedRandomAccessMemory}. A shared page is copied
+ * the first time this {@code PagedRandomAccessMemory} writes to it, so taking
+ * a snapshot never copies the data and reading from a snapshot never blocks writers.
+ *
+ * @author Abiddarris
+ */
+public class PagedRandomAccessMemory extends RandomAccess {
+
+    /**
+     * Default size of each page
+     */
+    public static final int DEFAULT_PAGE_SIZE = 64 * 1024;
+
+    /**
+     * {@code log2(pageSize)}
+     */
+    private final int pageShift;
+
+    /**
+     * Size of each page
+     */
+    private final int pageSize;
+
+    /**
+     * Page table. {@code null} entry means the page is not allocated yet.
+     */
+    private byte[][] pages = new byte[0][];
+
+    /**
+     * Pages that are shared with snapshots and must be copied before written
+     */
+    private final BitSet sharedPages = new BitSet();
+
+    /**
+     * This {@code PagedRandomAccessMemory}'s length
+     */
+    private long length;
+
+    /**
+     * Create new {@code PagedRandomAccessMemory} with {@link #DEFAULT_PAGE_SIZE}.
+     */
+    public PagedRandomAccessMemory() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Create new {@code PagedRandomAccessMemory}.
+     *
+     * @param pageSize Size of each page
+     * @throws IllegalArgumentException if {@code pageSize} is not a power of two
+     */
+    public PagedRandomAccessMemory(int pageSize) {
+        if (pageSize <= 0 || Integer.bitCount(pageSize) != 1)
+            throw new IllegalArgumentException("pageSize must be a power of two");
+
+        this.pageSize = pageSize;
+        this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            return readByte(pages, pos);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+            copyOut(pages, pos, b, off, len);
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            growToIfNeeded(pos + 1);
+            allocatePage(pageIndex(pos))[pageOffset(pos)] = (byte) b;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            growToIfNeeded(pos + len);
+
+            while (len > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(len, pageSize - offset);
+
+                System.arraycopy(b, off, allocatePage(pageIndex(pos)), offset, n);
+
+                pos += n;
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            int len = (int) Math.min(dst.remaining(), length - pos);
+
+            int remaining = len;
+            while (remaining > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(remaining, pageSize - offset);
+
+                byte[] page = pageAt(pos);
+                if (page == null) {
+                    fillZero(dst, n);
+                } else {
+                    dst.put(page, offset, n);
+                }
+
+                pos += n;
+                remaining -= n;
+            }
+
+            return len;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+
+        int len = src.remaining();
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            growToIfNeeded(pos + len);
+
+            while (len > 0) {
+                int offset = pageOffset(pos);
+                int n = Math.min(len, pageSize - offset);
+
+                src.get(allocatePage(pageIndex(pos)), offset, n);
+
+                pos += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getLength() throws IOException {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code newLength} is less than zero, or
+     *         larger than the maximum size that page table can address
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+        if(newLength > 0)
+            validatePos(newLength - 1);
+
+        ensureOpen();
+
+        synchronized (this) {
+            if (newLength < length) {
+                shrinkTo(newLength);
+            } else {
+                growToIfNeeded(newLength);
+            }
+
+            truncatePointer(length);
+        }
+    }
+
+    /**
+     * Returns read-only view of current content of this {@code PagedRandomAccessMemory}.
+     *
+     * <p>The returned {@code RandomAccess} is not affected by later writes to this
+     * {@code PagedRandomAccessMemory}. It shares pages with this {@code PagedRandomAccessMemory}
+     * until they are written, and reading from it does not hold any lock. Writing to
+     * the returned {@code RandomAccess} throws {@code IOException}.
+     *
+     * @return Read-only snapshot
+     * @throws IOException if this {@code PagedRandomAccessMemory} has been closed
+     */
+    public RandomAccess snapshot() throws IOException {
+        ensureOpen();
+
+        synchronized (this) {
+            sharedPages.set(0, pages.length);
+
+            return new Snapshot(pages.clone(), length);
+        }
+    }
+
+    /**
+     * Returns number of bytes that actually allocated by this {@code PagedRandomAccessMemory}.
+     *
+     * @return Number of allocated bytes
+     */
+    public synchronized long getAllocatedSize() {
+        long allocated = 0;
+        for (byte[] page : pages) {
+            if (page != null) allocated += pageSize;
+        }
+        return allocated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        synchronized (this) {
+            pages = new byte[0][];
+            sharedPages.clear();
+            length = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero, or
+     *         {@code pos} is beyond the maximum size that page table can address
+     */
+    @Override
+    protected void validatePos(long pos) {
+        super.validatePos(pos);
+
+        if ((pos >>> pageShift) >= Integer.MAX_VALUE - 8) {
+            throw new IndexOutOfBoundsException("pos is too large");
+        }
+    }
+
+    /**
+     * Grows this {@code PagedRandomAccessMemory} so it has at least
+     * {@code newLength} bytes. Only the page table is grown, the pages are
+     * allocated lazily when they are written.
+     *
+     * @param newLength Minimum length
+     */
+    private void growToIfNeeded(long newLength) {
+        if (newLength <= length) {
+            return;
+        }
+
+        int pageCount = pageIndex(newLength - 1) + 1;
+        if (pageCount > pages.length) {
+            long capacity = Math.max(pageCount, (long) pages.length * 2);
+            pages = Arrays.copyOf(pages, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+        }
+
+        length = newLength;
+    }
+
+    /**
+     * Shrinks this {@code PagedRandomAccessMemory} into {@code newLength}.
+     * Pages beyond {@code newLength} are released and the rest of the last page
+     * is cleared, so later growth reads zeros.
+     *
+     * @param newLength New length, must be less than current length
+     */
+    private void shrinkTo(long newLength) {
+        int firstUnused = (int) ((newLength + pageSize - 1) >>> pageShift);
+        Arrays.fill(pages, firstUnused, pages.length, null);
+        sharedPages.clear(firstUnused, pages.length);
+
+        int offset = pageOffset(newLength);
+        if (offset != 0 && pages[pageIndex(newLength)] != null) {
+            byte[] page = allocatePage(pageIndex(newLength));
+            Arrays.fill(page, offset, pageSize, (byte) 0);
+        }
+
+        length = newLength;
+    }
+
+    /**
+     * Returns writable page at specified index, allocates it if needed.
+     * Pages that are shared with snapshots are copied first.
+     *
+     * @param index Page index
+     * @return Page at {@code index}
+     */
+    private byte[] allocatePage(int index) {
+        byte[] page = pages[index];
+        if (page == null) {
+            page = new byte[pageSize];
+            pages[index] = page;
+        } else if (sharedPages.get(index)) {
+            page = page.clone();
+            pages[index] = page;
+        }
+        sharedPages.clear(index);
+
+        return page;
+    }
+
+    private byte[] pageAt(long pos) {
+        return pages[pageIndex(pos)];
+    }
+
+    /**
+     * Reads byte at {@code pos} from {@code pages}.
+     *
+     * @param pages Page table
+     * @param pos Position, must be less than length
+     * @return Unsigned byte at {@code pos}
+     */
+    private int readByte(byte[][] pages, long pos) {
+        byte[] page = pages[pageIndex(pos)];
+        return page == null ? 0 : page[pageOffset(pos)] & 0xFF;
+    }
+
+    /**
+     * Copies {@code len} bytes starting from {@code pos} from {@code pages} into {@code b}.
+     *
+     * @param pages Page table
+     * @param pos Starting position, {@code pos + len} must not exceed the length
+     * @param b Destination array
+     * @param off Offset in {@code b}
+     * @param len Number of bytes to copy
+     */
+    private void copyOut(byte[][] pages, long pos, byte[] b, int off, int len) {
+        while (len > 0) {
+            int offset = pageOffset(pos);
+            int n = Math.min(len, pageSize - offset);
+
+            byte[] page = pages[pageIndex(pos)];
+            if (page == null) {
+                Arrays.fill(b, off, off + n, (byte) 0);
+            } else {
+                System.arraycopy(page, offset, b, off, n);
+            }
+
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes {@code n} zeros into {@code dst}.
+     *
+     * @param dst Buffer to fill
+     * @param n Number of zeros
+     */
+    private static void fillZero(ByteBuffer dst, int n) {
+        while (n >= Long.BYTES) {
+            dst.putLong(0);
+            n -= Long.BYTES;
+        }
+        while (n-- > 0) {
+            dst.put((byte) 0);
+        }
+    }
+
+    private int pageIndex(long pos) {
+        return (int) (pos >>> pageShift);
+    }
+
+    private int pageOffset(long pos) {
+        return (int) (pos & (pageSize - 1));
+    }
+
+    /**
+     * Read-only view of {@code PagedRandomAccessMemory} at the time it was created.
+     */
+    private final class Snapshot extends RandomAccess {
+
+        /**
+         * Copy of the page table, pages are never modified
+         */
+        private volatile byte[][] pages;
+
+        /**
+         * Length at the time this snapshot was created
+         */
+        private final long length;
+
+        private Snapshot(byte[][] pages, long length) {
+            this.pages = pages;
+            this.length = length;
+        }
+
+        @Override
+        public int readAt(long pos) throws IOException {
+            ensureOpen();
+            validatePos(pos);
+
+            if (pos >= length) return -1;
+
+            return readByte(pages, pos);
+        }
+
+        @Override
+        public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+            ensureOpen();
+            validateParams(b, pos, off, len);
+
+            if (len == 0) return 0;
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+            copyOut(pages, pos, b, off, len);
+
+            return len;
+        }
+
+        @Override
+        public void writeAt(int b, long pos) throws IOException {
+            throw new IOException("Snapshot is read only");
+        }
+
+        @Override
+        public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+            throw new IOException("Snapshot is read only");
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return length;
+        }
+
+        @Override
+        public void setLength(long newLength) throws IOException {
+            throw new IOException("Snapshot is read only");
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+
+            pages = new byte[0][];
+        }
+    }
+}
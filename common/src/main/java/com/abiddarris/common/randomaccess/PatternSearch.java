@@ -0,0 +1,241 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches a byte pattern in {@code RandomAccess} using Boyer-Moore-Horspool algorithm.
+ *
+ * <p>Content is read in blocks. The last bytes of a block that may be the start of a match
+ * are carried into the next block, so matches that straddle blocks are found.
+ *
+ * @author Abiddarris
+ */
+final class PatternSearch {
+
+    /**
+     * Size of block read from {@code RandomAccess}
+     */
+    static final int BLOCK_SIZE = 256 * 1024;
+
+    /**
+     * Minimum size of range searched by a single task in parallel search
+     */
+    static final long PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+
+    /**
+     * Pattern to search
+     */
+    private final byte[] pattern;
+
+    /**
+     * Distance to shift when the last byte of window is a specific byte
+     */
+    private final int[] skip = new int[256];
+
+    /**
+     * Create new {@code PatternSearch}.
+     *
+     * @param pattern Non empty pattern to search, not copied
+     */
+    PatternSearch(byte[] pattern) {
+        this.pattern = pattern;
+
+        int m = pattern.length;
+        Arrays.fill(skip, m);
+        for (int i = 0; i < m - 1; i++) {
+            skip[pattern[i] & 0xFF] = m - 1 - i;
+        }
+    }
+
+    /**
+     * Finds first match that starts in {@code [from, to)}.
+     *
+     * @param randomAccess {@code RandomAccess} to search
+     * @param from Starting position, inclusive
+     * @param to Ending position of match start, exclusive
+     * @return Position of the match, or {@code -1} if not found
+     * @throws IOException if an I/O error occurs
+     */
+    long search(RandomAccess randomAccess, long from, long to) throws IOException {
+        return new Scanner(randomAccess, from).next(to);
+    }
+
+    /**
+     * Finds first match that starts in {@code [from, to)} by splitting the range
+     * across {@code pool}.
+     *
+     * @param randomAccess {@code RandomAccess} to search, must support concurrent reads
+     * @param from Starting position, inclusive
+     * @param to Ending position of match start, exclusive
+     * @param pool Pool that runs the search
+     * @return Position of the match, or {@code -1} if not found
+     * @throws IOException if an I/O error occurs
+     */
+    long parallelSearch(RandomAccess randomAccess, long from, long to, ForkJoinPool pool) throws IOException {
+        try {
+            return pool.invoke(new Search(randomAccess, from, to, new AtomicLong(Long.MAX_VALUE)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Task that searches a range, splitting it while it is larger than {@link #PARALLEL_THRESHOLD}.
+     */
+    private final class Search extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RandomAccess randomAccess;
+        private final long from;
+        private final long to;
+
+        /**
+         * Smallest match found by any task, used to skip ranges after it
+         */
+        private final AtomicLong found;
+
+        private Search(RandomAccess randomAccess, long from, long to, AtomicLong found) {
+            this.randomAccess = randomAccess;
+            this.from = from;
+            this.to = to;
+            this.found = found;
+        }
+
+        @Override
+        protected Long compute() {
+            if (from >= found.get()) return -1L;
+
+            if (to - from <= PARALLEL_THRESHOLD) {
+                try {
+                    long pos = search(randomAccess, from, to);
+                    if (pos >= 0) {
+                        found.accumulateAndGet(pos, Math::min);
+                    }
+                    return pos;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            long mid = from + (to - from) / 2;
+            Search right = new Search(randomAccess, mid, to, found);
+            right.fork();
+
+            long left = new Search(randomAccess, from, mid, found).compute();
+            long rightResult = right.join();
+
+            return left >= 0 ? left : rightResult;
+        }
+    }
+
+    /**
+     * Finds successive matches, keeping the buffered block between calls so
+     * the next search continues after the previous match instead of reading
+     * its block again.
+     */
+    final class Scanner {
+
+        private final RandomAccess randomAccess;
+        private final byte[] buf = new byte[Math.max(BLOCK_SIZE, pattern.length * 2)];
+
+        /**
+         * Position of {@code buf[0]}
+         */
+        private long bufStart;
+
+        /**
+         * Number of valid bytes in {@code buf}
+         */
+        private int bufLen;
+
+        /**
+         * Index in {@code buf} of the next window to compare
+         */
+        private int index;
+
+        /**
+         * Create new {@code Scanner}.
+         *
+         * @param randomAccess {@code RandomAccess} to search
+         * @param from Starting position, inclusive
+         */
+        Scanner(RandomAccess randomAccess, long from) {
+            this.randomAccess = randomAccess;
+            this.bufStart = from;
+        }
+
+        /**
+         * Finds next match that starts before {@code to}. Following calls continue
+         * after the returned match.
+         *
+         * @param to Ending position of match start, exclusive
+         * @return Position of the match, or {@code -1} if not found
+         * @throws IOException if an I/O error occurs
+         */
+        long next(long to) throws IOException {
+            int m = pattern.length;
+            long length = randomAccess.getLength();
+            long end = to >= length ? length : Math.min(length, to + m - 1);
+
+            if (bufStart + bufLen > end) {
+                bufLen = (int) Math.max(0, end - bufStart);
+            }
+
+            while (true) {
+                while (bufLen < buf.length && bufStart + bufLen < end) {
+                    int n = (int) Math.min(buf.length - bufLen, end - bufStart - bufLen);
+                    int read = randomAccess.readAt(buf, bufStart + bufLen, bufLen, n);
+                    if (read == -1) {
+                        end = bufStart + bufLen;
+                        break;
+                    }
+                    bufLen += read;
+                }
+
+                int i = index;
+                while (i <= bufLen - m) {
+                    int j = m - 1;
+                    while (j >= 0 && buf[i + j] == pattern[j]) {
+                        j--;
+                    }
+                    if (j < 0) {
+                        index = i + 1;
+                        return bufStart + i;
+                    }
+
+                    i += skip[buf[i + m - 1] & 0xFF];
+                }
+                index = i;
+
+                if (bufStart + bufLen >= end) return -1;
+
+                int keep = bufLen - Math.min(i, bufLen);
+                System.arraycopy(buf, bufLen - keep, buf, 0, keep);
+                bufStart += bufLen - keep;
+                index -= bufLen - keep;
+                bufLen = keep;
+            }
+        }
+    }
+}
@@ -20,9 +20,23 @@ import static com.abiddarris.common.utils.Preconditions.checkNonNull;
 import com.abiddarris.common.stream.CloseableObject;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Abstract class that define contract for Random Access
@@ -31,7 +45,19 @@ import java.io.OutputStream;
  * @since 1.1
  */
 public abstract class RandomAccess implements Closeable {
-    
+
+    /**
+     * Size of temporary buffer used when transferring data through
+     * array based methods
+     */
+    static final int TRANSFER_BUFFER_SIZE = 8192;
+
+    /**
+     * Size of temporary buffer used by {@link #copyRange(long, long, long)}
+     * and {@link #fill(long, long, byte)}
+     */
+    static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Store state of this {@code RandomAccess}. 
      */
@@ -52,8 +78,24 @@ public abstract class RandomAccess implements Closeable {
      *
      * <p>{@code pointer} is used by {@link #read() #write()} method.
      * pointer defines the offset when calling {@link #read()} or {@link #write(int)}
+     *
+     * <p>{@code pointer} is updated atomically without holding any lock. Subclasses
+     * should use {@link #truncatePointer(long)} instead of assigning it directly.
+     */
+    protected volatile long pointer;
+
+    /**
+     * Executor used by default implementation of asynchronous operations,
+     * {@code null} to use {@link ForkJoinPool#commonPool()}. The common pool is only
+     * looked up when needed, so creating a {@code RandomAccess} does not depend on it.
+     */
+    private volatile Executor asyncExecutor;
+
+    /**
+     * Updater for atomic updates of {@link #pointer}
      */
-    protected long pointer;
+    private static final AtomicLongFieldUpdater<RandomAccess> POINTER =
+            AtomicLongFieldUpdater.newUpdater(RandomAccess.class, "pointer");
     
     /**
      * Reads a byte of data from this {@code RandomAccess} at specified position.
@@ -177,6 +219,734 @@ public abstract class RandomAccess implements Closeable {
         writeAt(b, pos, 0, b.length);
     }
 
+    /**
+     * Reads up to {@code dst.remaining()} bytes of data from this {@code RandomAccess}
+     * into {@code dst} from the specified position. Bytes are written starting at
+     * {@code dst}'s current position, and its position is advanced by the number of
+     * bytes read. This method blocks until at least one byte of input is available.
+     *
+     * <p>The default implementation delegates to {@link #readAt(byte[], long, int, int)},
+     * using {@code dst}'s backing array if it has one, otherwise through a temporary array.
+     * Subclasses should override this method to transfer directly into {@code dst}.
+     *
+     * @param dst the buffer into which the data is read.
+     * @param pos Starting position
+     * @return the total number of bytes read into the buffer, or {@code -1} if there is
+     *         no more data because the end of this {@code RandomAccess} has been reached.
+     * @throws IOException If the first byte cannot be read for any reason other than end
+     *         of {@code RandomAccess}, or if the {@code RandomAccess} has been closed, or
+     *         if some other I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code dst} is {@code null}.
+     * @throws java.nio.ReadOnlyBufferException If {@code dst} is read only
+     */
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        if (dst.hasArray()) {
+            int read = readAt(dst.array(), pos, dst.arrayOffset() + dst.position(), dst.remaining());
+            if (read > 0) {
+                dst.position(dst.position() + read);
+            }
+            return read;
+        }
+
+        byte[] buf = new byte[Math.min(dst.remaining(), TRANSFER_BUFFER_SIZE)];
+        int total = 0;
+        while (dst.hasRemaining()) {
+            int read = readAt(buf, pos + total, 0, Math.min(dst.remaining(), buf.length));
+            if (read == -1) break;
+
+            dst.put(buf, 0, read);
+            total += read;
+
+            if (read < buf.length) break;
+        }
+
+        return total == 0 ? -1 : total;
+    }
+
+    /**
+     * Writes all remaining bytes of {@code src} into this {@code RandomAccess},
+     * starting from the specified position. {@code src}'s position is advanced
+     * to its limit.
+     *
+     * <p>The default implementation delegates to {@link #writeAt(byte[], long, int, int)},
+     * using {@code src}'s backing array if it has one, otherwise through a temporary array.
+     * Subclasses should override this method to transfer directly from {@code src}.
+     *
+     * @param src the data.
+     * @param pos Starting position
+     * @throws IOException if an I/O error occurs.
+     * @throws NullPointerException If {@code src} is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     */
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        validateParams(src, pos);
+
+        if (!src.hasRemaining()) return;
+
+        if (src.hasArray()) {
+            writeAt(src.array(), pos, src.arrayOffset() + src.position(), src.remaining());
+            src.position(src.limit());
+            return;
+        }
+
+        byte[] buf = new byte[Math.min(src.remaining(), TRANSFER_BUFFER_SIZE)];
+        while (src.hasRemaining()) {
+            int len = Math.min(src.remaining(), buf.length);
+            src.get(buf, 0, len);
+            writeAt(buf, pos, 0, len);
+
+            pos += len;
+        }
+    }
+
+    /**
+     * Reads a sequence of bytes from this {@code RandomAccess} into the given
+     * buffers, starting from the specified position. Buffers are filled in order,
+     * a buffer is only filled after all previous buffers are full.
+     *
+     * <p>The default implementation calls {@link #readAt(ByteBuffer, long)}
+     * for each buffer. Subclasses may override this method to perform a single
+     * scattering read.
+     *
+     * @param dsts the buffers into which the data is read.
+     * @param pos Starting position
+     * @return the total number of bytes read into the buffers, or {@code -1} if there is
+     *         no more data because the end of this {@code RandomAccess} has been reached.
+     * @throws IOException If the first byte cannot be read for any reason other than end
+     *         of {@code RandomAccess}, or if the {@code RandomAccess} has been closed, or
+     *         if some other I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code dsts} or any of its element is {@code null}.
+     */
+    public long readAt(ByteBuffer[] dsts, long pos) throws IOException {
+        validateParams(dsts, pos);
+
+        long total = 0;
+        for (ByteBuffer dst : dsts) {
+            while (dst.hasRemaining()) {
+                int read = readAt(dst, pos + total);
+                if (read == -1) {
+                    return total == 0 ? -1 : total;
+                }
+
+                total += read;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Writes all remaining bytes of the given buffers into this {@code RandomAccess},
+     * starting from the specified position. Buffers are written in order and their
+     * positions are advanced to their limits.
+     *
+     * <p>The default implementation calls {@link #writeAt(ByteBuffer, long)}
+     * for each buffer. Subclasses may override this method to perform a single
+     * gathering write.
+     *
+     * @param srcs the data.
+     * @param pos Starting position
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code srcs} or any of its element is {@code null}.
+     */
+    public void writeAt(ByteBuffer[] srcs, long pos) throws IOException {
+        validateParams(srcs, pos);
+
+        for (ByteBuffer src : srcs) {
+            int len = src.remaining();
+
+            writeAt(src, pos);
+            pos += len;
+        }
+    }
+
+    /**
+     * Transfers up to {@code count} bytes starting from {@code pos} of this
+     * {@code RandomAccess} into {@code target}.
+     *
+     * <p>Fewer bytes are transferred if the end of this {@code RandomAccess} is reached.
+     * The default implementation copies through a temporary buffer. File backed
+     * implementations override this method to let the operating system transfer
+     * the bytes directly.
+     *
+     * @param pos Starting position
+     * @param count Maximum number of bytes to transfer
+     * @param target Channel to write into
+     * @return Number of bytes actually transferred
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} or {@code count} less than zero
+     * @throws NullPointerException If {@code target} is {@code null}.
+     */
+    public long transferTo(long pos, long count, WritableByteChannel target) throws IOException {
+        ensureOpen();
+        validateTransferParams(target, pos, count);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_BUFFER_SIZE));
+        long total = 0;
+        while (total < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - total));
+
+            int read = readAt(buffer, pos + total);
+            if (read == -1) break;
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            total += read;
+        }
+
+        return total;
+    }
+
+    /**
+     * Transfers up to {@code count} bytes from {@code src} into this {@code RandomAccess}
+     * starting at {@code pos}.
+     *
+     * <p>Fewer bytes are transferred if {@code src} reaches its end. The default
+     * implementation copies through a temporary buffer. File backed implementations
+     * override this method to let the operating system transfer the bytes directly.
+     *
+     * @param src Channel to read from
+     * @param pos Starting position
+     * @param count Maximum number of bytes to transfer
+     * @return Number of bytes actually transferred
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} or {@code count} less than zero
+     * @throws NullPointerException If {@code src} is {@code null}.
+     */
+    public long transferFrom(ReadableByteChannel src, long pos, long count) throws IOException {
+        ensureOpen();
+        validateTransferParams(src, pos, count);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_BUFFER_SIZE));
+        long total = 0;
+        while (total < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - total));
+
+            int read = src.read(buffer);
+            if (read <= 0) break;
+
+            buffer.flip();
+            writeAt(buffer, pos + total);
+            total += read;
+        }
+
+        return total;
+    }
+
+    /**
+     * Copies {@code len} bytes starting from {@code src} into {@code dst} within this
+     * {@code RandomAccess}.
+     *
+     * <p>The ranges may overlap, the result is as if the bytes were first copied into
+     * a temporary buffer and then written into {@code dst}. This {@code RandomAccess}
+     * grows if the destination range extends beyond the end.
+     *
+     * <p>The default implementation copies through a temporary buffer, starting from the
+     * end of the range when {@code dst} is after {@code src}.
+     *
+     * @param src Starting position of the source range
+     * @param dst Starting position of the destination range
+     * @param len Number of bytes to copy
+     * @throws EOFException if the source range extends beyond the end of this {@code RandomAccess}
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code src}, {@code dst} or {@code len} less than zero
+     */
+    public void copyRange(long src, long dst, long len) throws IOException {
+        ensureOpen();
+        validateCopyParams(src, dst, len);
+
+        if (len == 0 || src == dst) return;
+
+        byte[] buf = new byte[(int) Math.min(len, COPY_BUFFER_SIZE)];
+        boolean backward = dst > src && dst < src + len;
+        long done = 0;
+        while (done < len) {
+            int n = (int) Math.min(buf.length, len - done);
+            long offset = backward ? len - done - n : done;
+
+            readFullyAt(buf, src + offset, n);
+            writeAt(buf, dst + offset, 0, n);
+
+            done += n;
+        }
+    }
+
+    /**
+     * Sets {@code len} bytes starting from {@code pos} to {@code value}. This
+     * {@code RandomAccess} grows if the range extends beyond the end.
+     *
+     * <p>The default implementation writes a temporary buffer filled with {@code value}
+     * repeatedly.
+     *
+     * @param pos Starting position
+     * @param len Number of bytes to set
+     * @param value Value to set
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} or {@code len} less than zero
+     */
+    public void fill(long pos, long len, byte value) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        if (len < 0)
+            throw new IndexOutOfBoundsException("len cannot be less than zero");
+
+        byte[] buf = new byte[(int) Math.min(len, COPY_BUFFER_SIZE)];
+        Arrays.fill(buf, value);
+
+        long done = 0;
+        while (done < len) {
+            int n = (int) Math.min(buf.length, len - done);
+
+            writeAt(buf, pos + done, 0, n);
+            done += n;
+        }
+    }
+
+    /**
+     * Returns position of the first occurrence of {@code pattern} that starts at or
+     * after {@code from}.
+     *
+     * <p>Content is read in large blocks and searched using Boyer-Moore-Horspool algorithm.
+     * An empty {@code pattern} matches at {@code from} if it does not exceed the length.
+     *
+     * @param pattern Bytes to search
+     * @param from Position to start searching from
+     * @return Position of the first occurrence, or {@code -1} if not found
+     * @throws IOException if an I/O error occurs.
+     * @throws NullPointerException if {@code pattern} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code from} less than zero
+     */
+    public long indexOf(byte[] pattern, long from) throws IOException {
+        ensureOpen();
+        checkNonNull(pattern);
+        validatePos(from);
+
+        if (pattern.length == 0) return from <= getLength() ? from : -1;
+
+        return new PatternSearch(pattern).search(this, from, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns position of the first occurrence of {@code pattern} that starts at or
+     * after {@code from}, searching ranges of this {@code RandomAccess} concurrently
+     * on {@code pool}.
+     *
+     * <p>This method only pays off for implementations whose {@code readAt} can run
+     * concurrently, such as {@link RandomAccessFileChannel}. Small ranges are searched
+     * on the calling thread.
+     *
+     * @param pattern Bytes to search
+     * @param from Position to start searching from
+     * @param pool Pool that runs the search
+     * @return Position of the first occurrence, or {@code -1} if not found
+     * @throws IOException if an I/O error occurs.
+     * @throws NullPointerException if {@code pattern} or {@code pool} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code from} less than zero
+     * @see #indexOf(byte[], long)
+     */
+    public long indexOf(byte[] pattern, long from, ForkJoinPool pool) throws IOException {
+        ensureOpen();
+        checkNonNull(pattern);
+        checkNonNull(pool);
+        validatePos(from);
+
+        long length = getLength();
+        if (pattern.length == 0 || length - from <= PatternSearch.PARALLEL_THRESHOLD) {
+            return indexOf(pattern, from);
+        }
+
+        return new PatternSearch(pattern).parallelSearch(this, from, length, pool);
+    }
+
+    /**
+     * Returns iterator over positions of every occurrence of non empty {@code pattern}
+     * that starts at or after {@code from}, in ascending order. Overlapping occurrences
+     * are included.
+     *
+     * <p>Occurrences are searched lazily as the iterator advances. Content is read in
+     * blocks that are kept between advances, so changes to content that has already
+     * been read may not be seen. An I/O error is thrown from the iterator as
+     * {@link UncheckedIOException}.
+     *
+     * @param pattern Bytes to search, copied by this method
+     * @param from Position to start searching from
+     * @return Iterator over positions of occurrences
+     * @throws NullPointerException if {@code pattern} is {@code null}
+     * @throws IllegalArgumentException if {@code pattern} is empty
+     * @throws IndexOutOfBoundsException if {@code from} less than zero
+     */
+    public PrimitiveIterator.OfLong findAll(byte[] pattern, long from) {
+        checkNonNull(pattern);
+        validatePos(from);
+
+        if (pattern.length == 0)
+            throw new IllegalArgumentException("pattern cannot be empty");
+
+        PatternSearch.Scanner scanner = new PatternSearch(pattern.clone()).new Scanner(this, from);
+
+        return new PrimitiveIterator.OfLong() {
+
+            private long next;
+            private boolean searched;
+
+            @Override
+            public boolean hasNext() {
+                if (!searched) {
+                    try {
+                        ensureOpen();
+                        next = scanner.next(Long.MAX_VALUE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    searched = true;
+                }
+                return next != -1;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+
+                searched = false;
+
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Reads {@code short} from this {@code RandomAccess} at specified position.
+     *
+     * @param pos Position to read
+     * @param order Byte order used to decode the value
+     * @return {@code short} at specified position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public short readShortAt(long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Short.BYTES];
+        readFullyAt(buf, pos);
+
+        return (short) ByteArrayViews.shorts(order).get(buf, 0);
+    }
+
+    /**
+     * Reads {@code int} from this {@code RandomAccess} at specified position.
+     *
+     * @param pos Position to read
+     * @param order Byte order used to decode the value
+     * @return {@code int} at specified position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public int readIntAt(long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Integer.BYTES];
+        readFullyAt(buf, pos);
+
+        return (int) ByteArrayViews.ints(order).get(buf, 0);
+    }
+
+    /**
+     * Reads {@code long} from this {@code RandomAccess} at specified position.
+     *
+     * @param pos Position to read
+     * @param order Byte order used to decode the value
+     * @return {@code long} at specified position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public long readLongAt(long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Long.BYTES];
+        readFullyAt(buf, pos);
+
+        return (long) ByteArrayViews.longs(order).get(buf, 0);
+    }
+
+    /**
+     * Reads {@code float} from this {@code RandomAccess} at specified position.
+     *
+     * @param pos Position to read
+     * @param order Byte order used to decode the value
+     * @return {@code float} at specified position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public float readFloatAt(long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Float.BYTES];
+        readFullyAt(buf, pos);
+
+        return (float) ByteArrayViews.floats(order).get(buf, 0);
+    }
+
+    /**
+     * Reads {@code double} from this {@code RandomAccess} at specified position.
+     *
+     * @param pos Position to read
+     * @param order Byte order used to decode the value
+     * @return {@code double} at specified position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public double readDoubleAt(long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Double.BYTES];
+        readFullyAt(buf, pos);
+
+        return (double) ByteArrayViews.doubles(order).get(buf, 0);
+    }
+
+    /**
+     * Writes {@code short} into this {@code RandomAccess} at specified position.
+     *
+     * @param v Value to write
+     * @param pos Position to write
+     * @param order Byte order used to encode the value
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public void writeShortAt(short v, long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Short.BYTES];
+        ByteArrayViews.shorts(order).set(buf, 0, v);
+
+        writeAt(buf, pos, 0, buf.length);
+    }
+
+    /**
+     * Writes {@code int} into this {@code RandomAccess} at specified position.
+     *
+     * @param v Value to write
+     * @param pos Position to write
+     * @param order Byte order used to encode the value
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public void writeIntAt(int v, long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Integer.BYTES];
+        ByteArrayViews.ints(order).set(buf, 0, v);
+
+        writeAt(buf, pos, 0, buf.length);
+    }
+
+    /**
+     * Writes {@code long} into this {@code RandomAccess} at specified position.
+     *
+     * @param v Value to write
+     * @param pos Position to write
+     * @param order Byte order used to encode the value
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public void writeLongAt(long v, long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Long.BYTES];
+        ByteArrayViews.longs(order).set(buf, 0, v);
+
+        writeAt(buf, pos, 0, buf.length);
+    }
+
+    /**
+     * Writes {@code float} into this {@code RandomAccess} at specified position.
+     *
+     * @param v Value to write
+     * @param pos Position to write
+     * @param order Byte order used to encode the value
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public void writeFloatAt(float v, long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Float.BYTES];
+        ByteArrayViews.floats(order).set(buf, 0, v);
+
+        writeAt(buf, pos, 0, buf.length);
+    }
+
+    /**
+     * Writes {@code double} into this {@code RandomAccess} at specified position.
+     *
+     * @param v Value to write
+     * @param pos Position to write
+     * @param order Byte order used to encode the value
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code order} is {@code null}.
+     */
+    public void writeDoubleAt(double v, long pos, ByteOrder order) throws IOException {
+        checkNonNull(order);
+
+        byte[] buf = new byte[Double.BYTES];
+        ByteArrayViews.doubles(order).set(buf, 0, v);
+
+        writeAt(buf, pos, 0, buf.length);
+    }
+
+    /**
+     * Asynchronously reads up to {@code dst.remaining()} bytes from this {@code RandomAccess}
+     * starting at {@code pos} into {@code dst}.
+     *
+     * <p>The default implementation runs {@link #readAt(ByteBuffer, long)} on the
+     * executor returned by {@link #getAsyncExecutor()}. Subclasses may override this
+     * method to perform truly asynchronous I/O.
+     *
+     * <p>{@code dst} must not be accessed until the returned future completes.
+     *
+     * @param dst the buffer into which the data is read.
+     * @param pos Starting position
+     * @return Future that completes with the number of bytes read, or {@code -1} if
+     *         the end of this {@code RandomAccess} has been reached. The future
+     *         completes exceptionally if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code dst} is {@code null}.
+     */
+    public CompletableFuture<Integer> readAtAsync(ByteBuffer dst, long pos) {
+        validateParams(dst, pos);
+
+        return runAsync(() -> readAt(dst, pos));
+    }
+
+    /**
+     * Asynchronously reads up to {@code len} bytes from this {@code RandomAccess}
+     * starting at {@code pos} into {@code b}.
+     *
+     * @param b the buffer into which the data is read.
+     * @param pos Starting position
+     * @param off the start offset in array {@code b} at which the data is written.
+     * @param len the maximum number of bytes read.
+     * @return Future that completes with the number of bytes read, or {@code -1} if
+     *         the end of this {@code RandomAccess} has been reached.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero, {@code off} is negative,
+     *         {@code len} is negative, or {@code len} is greater than {@code b.length - off}
+     * @throws NullPointerException If {@code b} is {@code null}.
+     * @see #readAtAsync(ByteBuffer, long)
+     */
+    public CompletableFuture<Integer> readAtAsync(byte[] b, long pos, int off, int len) {
+        validateParams(b, pos, off, len);
+
+        return readAtAsync(ByteBuffer.wrap(b, off, len), pos);
+    }
+
+    /**
+     * Asynchronously writes all remaining bytes of {@code src} into this {@code RandomAccess}
+     * starting at {@code pos}.
+     *
+     * <p>The default implementation runs {@link #writeAt(ByteBuffer, long)} on the
+     * executor returned by {@link #getAsyncExecutor()}. Subclasses may override this
+     * method to perform truly asynchronous I/O.
+     *
+     * <p>{@code src} must not be accessed until the returned future completes.
+     *
+     * @param src the buffer containing the bytes to write.
+     * @param pos Starting position
+     * @return Future that completes with the number of bytes written. The future
+     *         completes exceptionally if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     * @throws NullPointerException If {@code src} is {@code null}.
+     */
+    public CompletableFuture<Integer> writeAtAsync(ByteBuffer src, long pos) {
+        validateParams(src, pos);
+
+        return runAsync(() -> {
+            int len = src.remaining();
+            writeAt(src, pos);
+
+            return len;
+        });
+    }
+
+    /**
+     * Asynchronously writes {@code len} bytes from {@code b} starting at offset {@code off}
+     * into this {@code RandomAccess} starting at {@code pos}.
+     *
+     * @param b the data.
+     * @param pos Starting position
+     * @param off the start offset in the data.
+     * @param len the number of bytes to write.
+     * @return Future that completes with the number of bytes written.
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero, {@code off} is negative,
+     *         {@code len} is negative, or {@code len} is greater than {@code b.length - off}
+     * @throws NullPointerException If {@code b} is {@code null}.
+     * @see #writeAtAsync(ByteBuffer, long)
+     */
+    public CompletableFuture<Integer> writeAtAsync(byte[] b, long pos, int off, int len) {
+        validateParams(b, pos, off, len);
+
+        return writeAtAsync(ByteBuffer.wrap(b, off, len), pos);
+    }
+
+    /**
+     * Returns executor used by asynchronous operations that are not natively
+     * supported by this {@code RandomAccess}.
+     *
+     * @return Executor for asynchronous operations
+     */
+    public Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Sets executor used by asynchronous operations that are not natively
+     * supported by this {@code RandomAccess}.
+     *
+     * <p>By default {@link ForkJoinPool#commonPool()} is used. Since the operations
+     * block while waiting for I/O, callers that issue many outstanding operations
+     * should provide a dedicated executor.
+     *
+     * @param executor Executor for asynchronous operations
+     * @throws NullPointerException if {@code executor} is {@code null}
+     */
+    public void setAsyncExecutor(Executor executor) {
+        checkNonNull(executor);
+
+        this.asyncExecutor = executor;
+    }
+
     /**
      * Reads a byte of data from this {@code RandomAccess}. The byte is returned
      * as an integer in the range 0 to 255 {@code 0x00-0x0ff}. This method
@@ -188,14 +958,19 @@ public abstract class RandomAccess implements Closeable {
      *         {@code RandomAccess} has been reached.
      */
     public int read() throws IOException {
-        int b = readAt(pointer);
+        long pos = claim(1);
+        int b;
+        try {
+            b = readAt(pos);
+        } catch (Throwable e) {
+            release(pos, 1, 0);
+            throw e;
+        }
+
+        if(b == -1) {
+            release(pos, 1, 0);
+        }
 
-        if(b != -1) {
-            synchronized(this) {
-                pointer++;
-            }
-        }      
-        
         return b;
     }
     
@@ -233,15 +1008,20 @@ public abstract class RandomAccess implements Closeable {
      *         or {@code len} is greater than {@code b.length - off}
      */
     public int read(byte[] b, int off, int len) throws IOException {
-        len = readAt(b, pointer, off, len);
+        long pos = claim(len);
+        int read;
+        try {
+            read = readAt(b, pos, off, len);
+        } catch (Throwable e) {
+            release(pos, len, 0);
+            throw e;
+        }
 
-        if(len != -1) {
-            synchronized(this) {
-                pointer += len;
-            }
-        }      
-        
-        return len;
+        if(read < len) {
+            release(pos, len, Math.max(read, 0));
+        }
+
+        return read;
     }
 
     /**
@@ -262,18 +1042,16 @@ public abstract class RandomAccess implements Closeable {
         
         if(n <= 0) return 0;
         
-        long newPointer;
+        long length = getLength();
         long pointer;
-        
-        synchronized(this) {
-            pointer = getPointer();
-            long length = getLength();
-            newPointer = pointer + n;
-            if(newPointer > length) newPointer = length;         
-        }
-        
-        seek(newPointer);
-        
+        long newPointer;
+        do {
+            pointer = this.pointer;
+            if(pointer >= length) return 0;
+
+            newPointer = Math.min(pointer + n, length);
+        } while(!POINTER.compareAndSet(this, pointer, newPointer));
+
         return newPointer - pointer;
     }
     
@@ -285,10 +1063,12 @@ public abstract class RandomAccess implements Closeable {
      * @throws IOException if an I/O error occurs.
      */
     public void write(int b) throws IOException {
-        writeAt(b, pointer);
-        
-        synchronized(this) {
-            pointer++;
+        long pos = claim(1);
+        try {
+            writeAt(b, pos);
+        } catch (Throwable e) {
+            release(pos, 1, 0);
+            throw e;
         }
     }
    
@@ -317,12 +1097,14 @@ public abstract class RandomAccess implements Closeable {
      *         or {@code len} is greater than {@code b.length - off}
      */
     public void write(byte[] b, int off, int len) throws IOException {
-        writeAt(b, pointer, off, len);
-        
-        synchronized(this) {
-            pointer += len;
-        }      
-    } 
+        long pos = claim(len);
+        try {
+            writeAt(b, pos, off, len);
+        } catch (Throwable e) {
+            release(pos, len, 0);
+            throw e;
+        }
+    }
     
     /**
      * Returns the current offset in this {@code RandomAccess}.
@@ -349,12 +1131,71 @@ public abstract class RandomAccess implements Closeable {
      * @throws IndexOutOfBoundsException if {@code pos} is less than {@code 0} 
      * @throws IOException or if an I/O error occurs.
      */
-    public synchronized void seek(long pos) throws IOException {
+    public void seek(long pos) throws IOException {
         ensureOpen();
         validatePos(pos);
-        
+
         pointer = pos;
-    } 
+    }
+
+    /**
+     * Runs {@code operation} on the executor returned by {@link #getAsyncExecutor()}.
+     *
+     * @param operation Operation to run
+     * @return Future that completes with the result of {@code operation}
+     */
+    private CompletableFuture<Integer> runAsync(IOOperation operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return operation.run();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncExecutor());
+    }
+
+    /**
+     * Moves the pointer back to {@code length} if it is currently beyond {@code length}.
+     *
+     * <p>Subclasses should call this method after truncating this {@code RandomAccess}.
+     *
+     * @param length New length of this {@code RandomAccess}
+     */
+    protected void truncatePointer(long length) {
+        long pointer;
+        do {
+            pointer = this.pointer;
+            if(pointer <= length) return;
+        } while(!POINTER.compareAndSet(this, pointer, length));
+    }
+
+    /**
+     * Atomically claims range {@code [pointer, pointer + len)} and moves the pointer to
+     * the end of the range. Concurrent callers always receive disjoint ranges.
+     *
+     * @param len Length of the range, must not be negative
+     * @return Start of the claimed range
+     * @throws IndexOutOfBoundsException if {@code len} is negative
+     */
+    private long claim(int len) {
+        if(len < 0) throw new IndexOutOfBoundsException();
+
+        return POINTER.getAndAdd(this, len);
+    }
+
+    /**
+     * Gives back the unused part of range claimed by {@link #claim(int)}.
+     *
+     * <p>The pointer is only moved back if no other thread has claimed
+     * a range after it, otherwise it is left as is.
+     *
+     * @param pos Start of the claimed range
+     * @param len Length of the claimed range
+     * @param used Number of bytes actually used
+     */
+    private void release(long pos, int len, int used) {
+        POINTER.compareAndSet(this, pos + len, pos + used);
+    }
     
     /**
      * Returns {@code InputStream} representation of this {@code RandomAccess}
@@ -432,6 +1273,46 @@ public abstract class RandomAccess implements Closeable {
     public OutputStream newIndependentOutputStream() throws IOException {
     	return new IndependentAccessOutputStream(this);
     }
+
+    /**
+     * Returns {@code RandomAccessCursor} over this {@code RandomAccess}.
+     *
+     * <p>The cursor has its own position and buffer, so it does not move this
+     * {@code RandomAccess}'s pointer.
+     *
+     * <p>Closing returned {@code RandomAccessCursor} will close this {@code RandomAccess}.
+     *
+     * @return {@code RandomAccessCursor} over this {@code RandomAccess}
+     */
+    public RandomAccessCursor newCursor() {
+        return new RandomAccessCursor(this);
+    }
+
+    /**
+     * Returns view of region {@code [offset, offset + length)} of this {@code RandomAccess}.
+     *
+     * <p>Positions of the returned {@code RandomAccess} are relative to {@code offset}.
+     * No data is copied, reads and writes go directly to this {@code RandomAccess}.
+     * Reads stop at the end of the region and writes beyond it are rejected. The
+     * returned {@code RandomAccess} has its own pointer.
+     *
+     * <p>Closing the returned {@code RandomAccess} does not close this {@code RandomAccess}.
+     *
+     * @param offset Starting position of the region
+     * @param length Length of the region
+     * @return View of the region
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} is negative,
+     *         or {@code offset + length} overflows
+     * @throws IOException if this {@code RandomAccess} has been closed
+     */
+    public RandomAccess slice(long offset, long length) throws IOException {
+        ensureOpen();
+
+        if (offset < 0 || length < 0 || offset + length < 0)
+            throw new IndexOutOfBoundsException();
+
+        return new RandomAccessSlice(this, offset, length);
+    }
     
     /**
      * Close this {@code RandomAccess}
@@ -456,6 +1337,40 @@ public abstract class RandomAccess implements Closeable {
         return closeObject.isOpen();
     }
     
+    /**
+     * Reads exactly {@code b.length} bytes from specified position.
+     *
+     * @param b Buffer to fill
+     * @param pos Starting position
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void readFullyAt(byte[] b, long pos) throws IOException {
+        readFullyAt(b, pos, b.length);
+    }
+
+    /**
+     * Reads exactly {@code len} bytes from specified position into the start of {@code b}.
+     *
+     * @param b Buffer to fill
+     * @param pos Starting position
+     * @param len Number of bytes to read
+     * @throws EOFException if this {@code RandomAccess} reaches the end before
+     *         reading all the bytes.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void readFullyAt(byte[] b, long pos, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int read = readAt(b, pos + total, total, len - total);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            total += read;
+        }
+    }
+
     /**
      * Ensure this {@code RandomAccess} is not closed yet.
      *
@@ -528,6 +1443,94 @@ public abstract class RandomAccess implements Closeable {
         validateParams(b, off, len);
         validatePos(pos);
     }
-    
-    
+
+    /**
+     * Utility to check common params of {@code ByteBuffer} operations in this class
+     *
+     * <p>By default this method will check {@code buffer} nullability and
+     * call {@link #validatePos(long)} to validate
+     *
+     * @param buffer Buffer to validate
+     * @param pos Position to validate
+     * @throws NullPointerException if {@code buffer} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     */
+    protected void validateParams(ByteBuffer buffer, long pos) {
+        checkNonNull(buffer);
+        validatePos(pos);
+    }
+
+    /**
+     * Returns {@code true} if any of {@code buffers} has remaining bytes.
+     *
+     * @param buffers Buffers to check
+     * @return {@code true} if any of {@code buffers} has remaining bytes
+     */
+    static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Utility to check common params of vectored operations in this class
+     *
+     * <p>By default this method will check nullability of {@code buffers} and its
+     * elements, and call {@link #validatePos(long)} to validate
+     *
+     * @param buffers Buffers to validate
+     * @param pos Position to validate
+     * @throws NullPointerException if {@code buffers} or any of its element is {@code null}
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero
+     */
+    protected void validateParams(ByteBuffer[] buffers, long pos) {
+        checkNonNull(buffers);
+        for (ByteBuffer buffer : buffers) {
+            checkNonNull(buffer);
+        }
+        validatePos(pos);
+    }
+
+    /**
+     * Utility to check params of {@link #copyRange(long, long, long)}.
+     *
+     * @param src Source position to validate
+     * @param dst Destination position to validate
+     * @param len Number of bytes to validate
+     * @throws IndexOutOfBoundsException if {@code src}, {@code dst} or {@code len} less than zero
+     */
+    protected void validateCopyParams(long src, long dst, long len) {
+        validatePos(src);
+        validatePos(dst);
+
+        if (len < 0)
+            throw new IndexOutOfBoundsException("len cannot be less than zero");
+    }
+
+    /**
+     * Utility to check params of {@code transferTo} and {@code transferFrom}.
+     *
+     * @param channel Channel to validate
+     * @param pos Position to validate
+     * @param count Number of bytes to validate
+     * @throws NullPointerException if {@code channel} is {@code null}
+     * @throws IndexOutOfBoundsException if {@code pos} or {@code count} less than zero
+     */
+    protected void validateTransferParams(Object channel, long pos, long count) {
+        checkNonNull(channel);
+        validatePos(pos);
+
+        if (count < 0)
+            throw new IndexOutOfBoundsException("count cannot be less than zero");
+    }
+
+    /**
+     * Blocking I/O operation that produces an {@code int} result.
+     */
+    @FunctionalInterface
+    private interface IOOperation {
+
+        int run() throws IOException;
+    }
 }
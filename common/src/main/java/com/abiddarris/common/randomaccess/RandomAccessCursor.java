@@ -0,0 +1,610 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Seekable {@link DataInput} and {@link DataOutput} over a {@code RandomAccess}.
+ *
+ * <p>{@code RandomAccessCursor} keeps its own position and a buffer window over the
+ * {@code RandomAccess}. Reads and writes that fall inside the window do not call
+ * the {@code RandomAccess}, and {@link #seek(long)} keeps the window when the new
+ * position is inside it. Written bytes are kept in the window until it moves,
+ * {@link #flush()} is called or this cursor is closed.
+ *
+ * <p>Multi-byte values, including the length prefix of {@link #readUTF()} and
+ * {@link #writeUTF(String)}, use the byte order of this cursor, which is
+ * {@link ByteOrder#BIG_ENDIAN} by default as required by {@code DataInput}.
+ *
+ * <p>{@code RandomAccessCursor} is not thread safe. Bytes modified through the
+ * {@code RandomAccess} after they have been buffered may not be visible to this cursor.
+ *
+ * <p>Closing this {@code RandomAccessCursor} will close the {@code RandomAccess}.
+ *
+ * @author Abiddarris
+ */
+public class RandomAccessCursor implements DataInput, DataOutput, Closeable, Flushable {
+
+    /**
+     * Default size of buffer window
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * {@code RandomAccess} instance
+     */
+    private final RandomAccess randomAccess;
+
+    /**
+     * Buffer window
+     */
+    private final byte[] buffer;
+
+    /**
+     * Position of {@code buffer[0]} in {@code RandomAccess}
+     */
+    private long bufferStart;
+
+    /**
+     * Number of valid bytes in {@code buffer}
+     */
+    private int bufferLength;
+
+    /**
+     * Range of {@code buffer} that has not been written into {@code RandomAccess},
+     * empty if {@code dirtyStart >= dirtyEnd}
+     */
+    private int dirtyStart;
+    private int dirtyEnd;
+
+    /**
+     * Current position
+     */
+    private long position;
+
+    /**
+     * Byte order of multi-byte values
+     */
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    /**
+     * Create new {@code RandomAccessCursor} with {@link #DEFAULT_BUFFER_SIZE}.
+     *
+     * @param randomAccess RandomAccess
+     * @throws NullPointerException If {@code randomAccess} is {@code null}
+     */
+    public RandomAccessCursor(RandomAccess randomAccess) {
+        this(randomAccess, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create new {@code RandomAccessCursor}.
+     *
+     * @param randomAccess RandomAccess
+     * @param bufferSize Size of buffer window
+     * @throws NullPointerException If {@code randomAccess} is {@code null}
+     * @throws IllegalArgumentException If {@code bufferSize} is less than {@link Long#BYTES}
+     */
+    public RandomAccessCursor(RandomAccess randomAccess, int bufferSize) {
+        checkNonNull(randomAccess);
+
+        if (bufferSize < Long.BYTES)
+            throw new IllegalArgumentException("bufferSize must be at least " + Long.BYTES);
+
+        this.randomAccess = randomAccess;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Returns current position.
+     *
+     * @return Current position
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Moves to {@code pos}. The buffer window is kept if {@code pos} is inside it.
+     *
+     * @param pos New position
+     * @throws IllegalArgumentException If {@code pos} is negative
+     */
+    public void seek(long pos) {
+        if (pos < 0)
+            throw new IllegalArgumentException("pos cannot be negative");
+
+        position = pos;
+    }
+
+    /**
+     * Returns byte order of multi-byte values.
+     *
+     * @return Byte order
+     */
+    public ByteOrder order() {
+        return order;
+    }
+
+    /**
+     * Sets byte order of multi-byte values.
+     *
+     * @param order Byte order
+     * @return This cursor
+     * @throws NullPointerException If {@code order} is {@code null}
+     */
+    public RandomAccessCursor order(ByteOrder order) {
+        checkNonNull(order);
+
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * Returns length of the {@code RandomAccess}, including bytes that are
+     * only written into the buffer window.
+     *
+     * @return Length
+     * @throws IOException If an I/O error occurs
+     */
+    public long length() throws IOException {
+        return Math.max(randomAccess.getLength(), bufferStart + bufferLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len <= buffer.length) {
+            int index = fill(len);
+            System.arraycopy(buffer, index, b, off, len);
+            position += len;
+            return;
+        }
+
+        flush();
+
+        int total = 0;
+        while (total < len) {
+            int read = randomAccess.readAt(b, position + total, off + total, len - total);
+            if (read == -1) throw new EOFException();
+
+            total += read;
+        }
+        position += len;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method does not skip past the end of the {@code RandomAccess}.
+     */
+    @Override
+    public int skipBytes(int n) throws IOException {
+        if (n <= 0) return 0;
+
+        int skipped = (int) Math.max(0, Math.min(n, length() - position));
+        position += skipped;
+
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte readByte() throws IOException {
+        int index = fill(1);
+        position++;
+
+        return buffer[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short readShort() throws IOException {
+        int index = fill(Short.BYTES);
+        position += Short.BYTES;
+
+        return (short) ByteArrayViews.shorts(order).get(buffer, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt() throws IOException {
+        int index = fill(Integer.BYTES);
+        position += Integer.BYTES;
+
+        return (int) ByteArrayViews.ints(order).get(buffer, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong() throws IOException {
+        int index = fill(Long.BYTES);
+        position += Long.BYTES;
+
+        return (long) ByteArrayViews.longs(order).get(buffer, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readLine() throws IOException {
+        long length = length();
+        if (position >= length) return null;
+
+        StringBuilder builder = new StringBuilder();
+        while (position < length) {
+            int c = readUnsignedByte();
+            if (c == '\n') break;
+            if (c == '\r') {
+                if (position < length && peekUnsignedByte() == '\n') {
+                    position++;
+                }
+                break;
+            }
+            builder.append((char) c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        int index = prepareWrite(1);
+        buffer[index] = (byte) b;
+
+        position++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        if (len <= buffer.length) {
+            int index = prepareWrite(len);
+            System.arraycopy(b, off, buffer, index, len);
+            position += len;
+            return;
+        }
+
+        flush();
+
+        if (position < bufferStart + bufferLength && position + len > bufferStart) {
+            bufferLength = 0;
+        }
+        randomAccess.writeAt(b, position, off, len);
+        position += len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        write(v ? 1 : 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeByte(int v) throws IOException {
+        write(v);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeShort(int v) throws IOException {
+        int index = prepareWrite(Short.BYTES);
+        ByteArrayViews.shorts(order).set(buffer, index, (short) v);
+
+        position += Short.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeChar(int v) throws IOException {
+        writeShort(v);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeInt(int v) throws IOException {
+        int index = prepareWrite(Integer.BYTES);
+        ByteArrayViews.ints(order).set(buffer, index, v);
+
+        position += Integer.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeLong(long v) throws IOException {
+        int index = prepareWrite(Long.BYTES);
+        ByteArrayViews.longs(order).set(buffer, index, v);
+
+        position += Long.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeUTF(String s) throws IOException {
+        int utfLength = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            utfLength += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+
+        if (utfLength > 0xFFFF)
+            throw new UTFDataFormatException("encoded string too long: " + utfLength + " bytes");
+
+        byte[] bytes = new byte[utfLength];
+        int count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                bytes[count++] = (byte) c;
+            } else if (c <= 0x07FF) {
+                bytes[count++] = (byte) (0xC0 | ((c >> 6) & 0x1F));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                bytes[count++] = (byte) (0xE0 | ((c >> 12) & 0x0F));
+                bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        writeShort(utfLength);
+        write(bytes);
+    }
+
+    /**
+     * Writes bytes in the buffer window that have not been written into the {@code RandomAccess}.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        if (dirtyStart >= dirtyEnd) return;
+
+        randomAccess.writeAt(buffer, bufferStart + dirtyStart, dirtyStart, dirtyEnd - dirtyStart);
+
+        dirtyStart = 0;
+        dirtyEnd = 0;
+    }
+
+    /**
+     * Flushes, then closes the {@code RandomAccess}.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            randomAccess.close();
+        }
+    }
+
+    private int peekUnsignedByte() throws IOException {
+        return buffer[fill(1)] & 0xFF;
+    }
+
+    /**
+     * Makes sure the buffer window holds {@code n} bytes starting from current position.
+     *
+     * @param n Number of bytes, not greater than buffer size
+     * @return Index of current position in buffer
+     * @throws EOFException If the {@code RandomAccess} ends before {@code n} bytes
+     */
+    private int fill(int n) throws IOException {
+        if (position >= bufferStart && position + n <= bufferStart + bufferLength) {
+            return (int) (position - bufferStart);
+        }
+
+        flush();
+
+        bufferStart = position;
+        bufferLength = 0;
+        while (bufferLength < buffer.length) {
+            int read = randomAccess.readAt(buffer, bufferStart + bufferLength, bufferLength, buffer.length - bufferLength);
+            if (read == -1) break;
+
+            bufferLength += read;
+        }
+
+        if (bufferLength < n) throw new EOFException();
+
+        return 0;
+    }
+
+    /**
+     * Makes sure {@code n} bytes starting from current position can be written
+     * into the buffer window, and marks them dirty.
+     *
+     * @param n Number of bytes, not greater than buffer size
+     * @return Index of current position in buffer
+     */
+    private int prepareWrite(int n) throws IOException {
+        if (position < bufferStart || position > bufferStart + bufferLength
+                || position + n > bufferStart + buffer.length) {
+            flush();
+
+            bufferStart = position;
+            bufferLength = 0;
+        }
+
+        int index = (int) (position - bufferStart);
+
+        bufferLength = Math.max(bufferLength, index + n);
+        if (dirtyStart >= dirtyEnd) {
+            dirtyStart = index;
+            dirtyEnd = index + n;
+        } else {
+            dirtyStart = Math.min(dirtyStart, index);
+            dirtyEnd = Math.max(dirtyEnd, index + n);
+        }
+
+        return index;
+    }
+}
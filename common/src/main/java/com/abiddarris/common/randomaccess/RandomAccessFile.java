@@ -15,17 +15,47 @@
  ***********************************************************************************/
 package com.abiddarris.common.randomaccess;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {@link RandomAccess} implementation that wraps {@link java.io.RandomAccessFile}.
+ *
+ * <p>Asynchronous operations are performed using {@link AsynchronousFileChannel}
+ * which is opened when first needed.
  */
 public class RandomAccessFile extends RandomAccess {
 
     private final java.io.RandomAccessFile raf;
 
+    /**
+     * Opened file
+     */
+    private final File file;
+
+    /**
+     * Open mode
+     */
+    private final String mode;
+
+    /**
+     * Channel used by asynchronous operations, {@code null} if not opened yet
+     */
+    private AsynchronousFileChannel asyncChannel;
+
     /**
      * Create a new {@link java.io.RandomAccessFile}
      *
@@ -35,6 +65,8 @@ public class RandomAccessFile extends RandomAccess {
      */
     public RandomAccessFile(File file, String mode) throws FileNotFoundException {
         this.raf = new java.io.RandomAccessFile(file, mode);
+        this.file = file;
+        this.mode = mode;
     }
 
     /**
@@ -93,6 +125,206 @@ public class RandomAccessFile extends RandomAccess {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method reads directly into {@code dst} using positional
+     * {@link java.nio.channels.FileChannel#read(ByteBuffer, long)}.
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        int read;
+        do {
+            read = raf.getChannel().read(dst, pos);
+        } while (read == 0);
+
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method writes directly from {@code src} using positional
+     * {@link java.nio.channels.FileChannel#write(ByteBuffer, long)}.
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+
+        while (src.hasRemaining()) {
+            pos += raf.getChannel().write(src, pos);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method performs a single scattering read using
+     * {@link java.nio.channels.FileChannel#read(ByteBuffer[])}.
+     */
+    @Override
+    public long readAt(ByteBuffer[] dsts, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dsts, pos);
+
+        synchronized(this) {
+            raf.getChannel().position(pos);
+
+            long read;
+            do {
+                read = raf.getChannel().read(dsts);
+            } while (read == 0 && hasRemaining(dsts));
+
+            return read;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method performs a single gathering write using
+     * {@link java.nio.channels.FileChannel#write(ByteBuffer[])}.
+     */
+    @Override
+    public void writeAt(ByteBuffer[] srcs, long pos) throws IOException {
+        ensureOpen();
+        validateParams(srcs, pos);
+
+        synchronized(this) {
+            raf.getChannel().position(pos);
+
+            while (hasRemaining(srcs)) {
+                raf.getChannel().write(srcs);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method reads using {@link AsynchronousFileChannel} and does not
+     * occupy any thread while waiting for I/O.
+     */
+    @Override
+    public CompletableFuture<Integer> readAtAsync(ByteBuffer dst, long pos) {
+        validateParams(dst, pos);
+
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (!dst.hasRemaining()) {
+            future.complete(0);
+            return future;
+        }
+
+        try {
+            ensureOpen();
+            asyncChannel().read(dst, pos, future, new CompletionHandler<Integer, CompletableFuture<Integer>>() {
+                @Override
+                public void completed(Integer read, CompletableFuture<Integer> future) {
+                    future.complete(read);
+                }
+
+                @Override
+                public void failed(Throwable e, CompletableFuture<Integer> future) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method writes using {@link AsynchronousFileChannel} and does not
+     * occupy any thread while waiting for I/O.
+     */
+    @Override
+    public CompletableFuture<Integer> writeAtAsync(ByteBuffer src, long pos) {
+        validateParams(src, pos);
+
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        try {
+            ensureOpen();
+            new AsyncWrite(asyncChannel(), src, pos, future).start();
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method uses {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)},
+     * so the operating system may transfer the bytes without copying them into Java heap.
+     */
+    @Override
+    public long transferTo(long pos, long count, WritableByteChannel target) throws IOException {
+        ensureOpen();
+        validateTransferParams(target, pos, count);
+
+        return RandomAccessFileChannel.transferTo(raf.getChannel(), pos, count, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method uses {@link java.nio.channels.FileChannel#transferFrom(ReadableByteChannel, long, long)},
+     * so the operating system may transfer the bytes without copying them into Java heap.
+     */
+    @Override
+    public long transferFrom(ReadableByteChannel src, long pos, long count) throws IOException {
+        ensureOpen();
+        validateTransferParams(src, pos, count);
+
+        if (pos > raf.length()) {
+            return super.transferFrom(src, pos, count);
+        }
+
+        return RandomAccessFileChannel.transferFrom(raf.getChannel(), src, pos, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Non overlapping ranges are copied using
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}
+     * from the file into itself, so the bytes do not pass through Java heap.
+     */
+    @Override
+    public void copyRange(long src, long dst, long len) throws IOException {
+        ensureOpen();
+        validateCopyParams(src, dst, len);
+
+        if (len == 0 || src == dst) return;
+        if (src + len > raf.length()) {
+            throw new EOFException();
+        }
+        if (dst < src + len && src < dst + len) {
+            super.copyRange(src, dst, len);
+            return;
+        }
+
+        synchronized (this) {
+            FileChannel channel = raf.getChannel();
+            channel.position(dst);
+
+            if (RandomAccessFileChannel.transferTo(channel, src, len, channel) != len) {
+                throw new EOFException();
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -110,9 +342,7 @@ public class RandomAccessFile extends RandomAccess {
 
         synchronized (this) {
             raf.setLength(newLength);
-            if(pointer > newLength) {
-                pointer = newLength;
-            }
+            truncatePointer(newLength);
         }
     }
 
@@ -123,6 +353,104 @@ public class RandomAccessFile extends RandomAccess {
     public void close() throws IOException {
         super.close();
 
-        raf.close();
+        IOException failure = null;
+        try {
+            raf.close();
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            synchronized (this) {
+                if (asyncChannel != null) {
+                    try {
+                        asyncChannel.close();
+                    } catch (IOException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Returns channel for asynchronous operations, opens it if needed.
+     *
+     * <p>The open state is checked under the same lock that {@link #close()} takes
+     * to close the channel, so a channel is never opened after this
+     * {@code RandomAccessFile} has been closed.
+     *
+     * @return Channel for asynchronous operations
+     * @throws IOException If unable to open the channel, or this {@code RandomAccessFile}
+     *         has been closed
+     */
+    private synchronized AsynchronousFileChannel asyncChannel() throws IOException {
+        ensureOpen();
+
+        if (asyncChannel == null) {
+            Set<OpenOption> options = new HashSet<>();
+            options.add(StandardOpenOption.READ);
+            if (mode.startsWith("rw")) {
+                options.add(StandardOpenOption.WRITE);
+            }
+            if (mode.equals("rws")) {
+                options.add(StandardOpenOption.SYNC);
+            } else if (mode.equals("rwd")) {
+                options.add(StandardOpenOption.DSYNC);
+            }
+
+            asyncChannel = AsynchronousFileChannel.open(file.toPath(), options, null);
+        }
+        return asyncChannel;
+    }
+
+    /**
+     * Asynchronous write that keeps writing until all bytes are written.
+     */
+    private static final class AsyncWrite implements CompletionHandler<Integer, Void> {
+
+        private final AsynchronousFileChannel channel;
+        private final ByteBuffer src;
+        private final CompletableFuture<Integer> future;
+        private long pos;
+        private int written;
+
+        private AsyncWrite(AsynchronousFileChannel channel, ByteBuffer src, long pos,
+                CompletableFuture<Integer> future) {
+            this.channel = channel;
+            this.src = src;
+            this.pos = pos;
+            this.future = future;
+        }
+
+        private void start() {
+            if (!src.hasRemaining()) {
+                future.complete(written);
+                return;
+            }
+
+            channel.write(src, pos, null, this);
+        }
+
+        @Override
+        public void completed(Integer n, Void attachment) {
+            pos += n;
+            written += n;
+
+            try {
+                start();
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void failed(Throwable e, Void attachment) {
+            future.completeExceptionally(e);
+        }
     }
 }
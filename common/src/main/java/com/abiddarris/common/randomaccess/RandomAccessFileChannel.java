@@ -0,0 +1,372 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link RandomAccess} implementation that wraps {@link FileChannel}.
+ *
+ * <p>Unlike {@link RandomAccessFile}, this class uses positional
+ * {@link FileChannel#read(ByteBuffer, long)} and {@link FileChannel#write(ByteBuffer, long)}
+ * which do not touch the channel position. Because of that, {@code readAt} and
+ * {@code writeAt} do not hold any lock and multiple threads can read
+ * from this {@code RandomAccess} concurrently without blocking each other.
+ *
+ * @author Abiddarris
+ */
+public class RandomAccessFileChannel extends RandomAccess {
+
+    /**
+     * Wrapped channel
+     */
+    private final FileChannel channel;
+
+    /**
+     * Lock that guards {@code channel}'s position, only used by vectored operations
+     */
+    private final Object positionLock = new Object();
+
+    /**
+     * Create a new {@code RandomAccessFileChannel} from specified file.
+     *
+     * @param file File to open
+     * @param mode Open mode. See {@link java.io.RandomAccessFile} for more information
+     * @throws FileNotFoundException If unable to open the file
+     */
+    public RandomAccessFileChannel(File file, String mode) throws FileNotFoundException {
+        this(new java.io.RandomAccessFile(file, mode).getChannel());
+    }
+
+    /**
+     * Create a new {@code RandomAccessFileChannel} that wraps specified {@code FileChannel}.
+     *
+     * <p>Closing this {@code RandomAccessFileChannel} will close {@code channel}.
+     *
+     * @param channel Channel to wrap
+     * @throws NullPointerException If {@code channel} is {@code null}
+     */
+    public RandomAccessFileChannel(FileChannel channel) {
+        checkNonNull(channel);
+
+        this.channel = channel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        int read;
+        do {
+            read = channel.read(buffer, pos);
+        } while (read == 0);
+
+        return read == -1 ? -1 : buffer.get(0) & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+        int read;
+        do {
+            read = channel.read(buffer, pos);
+        } while (read == 0);
+
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        buffer.put(0, (byte) b);
+
+        writeFully(buffer, pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        writeFully(ByteBuffer.wrap(b, off, len), pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+
+        int read;
+        do {
+            read = channel.read(dst, pos);
+        } while (read == 0);
+
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+
+        writeFully(src, pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method performs a single scattering read using
+     * {@link java.nio.channels.FileChannel#read(ByteBuffer[])}.
+     * Vectored operations are serialized with each other because
+     * scattering read requires the channel position.
+     */
+    @Override
+    public long readAt(ByteBuffer[] dsts, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dsts, pos);
+
+        synchronized(positionLock) {
+            channel.position(pos);
+
+            long read;
+            do {
+                read = channel.read(dsts);
+            } while (read == 0 && hasRemaining(dsts));
+
+            return read;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method performs a single gathering write using
+     * {@link java.nio.channels.FileChannel#write(ByteBuffer[])}.
+     */
+    @Override
+    public void writeAt(ByteBuffer[] srcs, long pos) throws IOException {
+        ensureOpen();
+        validateParams(srcs, pos);
+
+        synchronized(positionLock) {
+            channel.position(pos);
+
+            while (hasRemaining(srcs)) {
+                channel.write(srcs);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method uses {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+     * so the operating system may transfer the bytes without copying them into Java heap.
+     */
+    @Override
+    public long transferTo(long pos, long count, WritableByteChannel target) throws IOException {
+        ensureOpen();
+        validateTransferParams(target, pos, count);
+
+        return transferTo(channel, pos, count, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method uses {@link FileChannel#transferFrom(ReadableByteChannel, long, long)},
+     * so the operating system may transfer the bytes without copying them into Java heap.
+     */
+    @Override
+    public long transferFrom(ReadableByteChannel src, long pos, long count) throws IOException {
+        ensureOpen();
+        validateTransferParams(src, pos, count);
+
+        if (pos > channel.size()) {
+            return super.transferFrom(src, pos, count);
+        }
+
+        return transferFrom(channel, src, pos, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Non overlapping ranges are copied using
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * from the file into itself, so the bytes do not pass through Java heap.
+     */
+    @Override
+    public void copyRange(long src, long dst, long len) throws IOException {
+        ensureOpen();
+        validateCopyParams(src, dst, len);
+
+        if (len == 0 || src == dst) return;
+        if (src + len > channel.size()) {
+            throw new EOFException();
+        }
+        if (dst < src + len && src < dst + len) {
+            super.copyRange(src, dst, len);
+            return;
+        }
+
+        synchronized (positionLock) {
+            channel.position(dst);
+
+            if (transferTo(channel, src, len, channel) != len) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        synchronized (this) {
+            long length = channel.size();
+            if (newLength < length) {
+                channel.truncate(newLength);
+            } else if (newLength > length) {
+                writeFully(ByteBuffer.allocate(1), newLength - 1);
+            }
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        channel.close();
+    }
+
+    /**
+     * Transfers up to {@code count} bytes from {@code channel} into {@code target}
+     * until {@code count} bytes are transferred or the end of {@code channel} is reached.
+     *
+     * @param channel Channel to transfer from
+     * @param pos Starting position in {@code channel}
+     * @param count Maximum number of bytes to transfer
+     * @param target Channel to write into
+     * @return Number of bytes actually transferred
+     * @throws IOException If an I/O error occurs
+     */
+    static long transferTo(FileChannel channel, long pos, long count, WritableByteChannel target)
+            throws IOException {
+        long total = 0;
+        while (total < count) {
+            long n = channel.transferTo(pos + total, count - total, target);
+            if (n <= 0) break;
+
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Transfers up to {@code count} bytes from {@code src} into {@code channel} until
+     * {@code count} bytes are transferred or the end of {@code src} is reached.
+     *
+     * @param channel Channel to transfer into, its size must not be less than {@code pos}
+     * @param src Channel to read from
+     * @param pos Starting position in {@code channel}
+     * @param count Maximum number of bytes to transfer
+     * @return Number of bytes actually transferred
+     * @throws IOException If an I/O error occurs
+     */
+    static long transferFrom(FileChannel channel, ReadableByteChannel src, long pos, long count)
+            throws IOException {
+        long total = 0;
+        while (total < count) {
+            long n = channel.transferFrom(src, pos + total, count - total);
+            if (n <= 0) break;
+
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Writes all remaining bytes of {@code buffer} starting from {@code pos}.
+     *
+     * @param buffer Bytes to write
+     * @param pos Starting position
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeFully(ByteBuffer buffer, long pos) throws IOException {
+        while (buffer.hasRemaining()) {
+            pos += channel.write(buffer, pos);
+        }
+    }
+}
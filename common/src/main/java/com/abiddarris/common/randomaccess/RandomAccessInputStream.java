@@ -17,8 +17,12 @@ package com.abiddarris.common.randomaccess;
 
 import static com.abiddarris.common.utils.Preconditions.checkNonNull;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Wrap {@code RandomAccess} as {@code InputStream}.
@@ -93,6 +97,36 @@ public class RandomAccessInputStream extends InputStream {
         return randomAccess.read(b, off, len);
     }
 
+    /**
+     * Transfers all remaining bytes into {@code out} using
+     * {@link RandomAccess#transferTo(long, long, WritableByteChannel)}, then moves
+     * the pointer to the end.
+     *
+     * <p>If {@code out} is a {@code FileOutputStream}, its channel is used directly
+     * so file backed {@code RandomAccess} can transfer without copying into Java heap.
+     *
+     * @param out the output stream, non-null
+     * @return the number of bytes transferred
+     * @throws IOException if an I/O error occurs when reading or writing
+     * @throws NullPointerException if {@code out} is {@code null}
+     */
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        checkNonNull(out);
+        randomAccess.ensureOpen();
+
+        long pos = randomAccess.getPointer();
+        long count = Math.max(0, randomAccess.getLength() - pos);
+
+        WritableByteChannel target = out instanceof FileOutputStream
+                ? ((FileOutputStream) out).getChannel() : Channels.newChannel(out);
+        long transferred = randomAccess.transferTo(pos, count, target);
+
+        randomAccess.seek(pos + transferred);
+
+        return transferred;
+    }
+
     /**
      * Delegate {@code skip(long)} call to {@link RandomAccess#skipBytes(long)}
      *
@@ -15,10 +15,16 @@
  ***********************************************************************************/
 package com.abiddarris.common.randomaccess;
 
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
 import com.abiddarris.common.utils.Maths;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * An implementation of {@code RandomAccess} that provides writing
@@ -26,6 +32,9 @@ import java.util.Arrays;
  *
  * <p>This class limit the bytes can be written into {@code 2^31} due to
  * array limitation.
+ *
+ * <p>Reads hold a shared lock, so multiple threads can read concurrently.
+ * Writes and growth hold an exclusive lock.
  * 
  * @author Abiddarris
  */
@@ -41,6 +50,12 @@ public class RandomAccessMemory extends RandomAccess {
      */
     private int length;
 
+    /**
+     * Guards {@code data} and {@code length}. Reads share the read lock,
+     * writes and growth take the write lock.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
     /**
      * {@inheritDoc}
      *
@@ -52,6 +67,36 @@ public class RandomAccessMemory extends RandomAccess {
         super.seek(pos);       
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the pointer has been moved beyond the end, this {@code RandomAccessMemory}
+     * grows to include the byte at the pointer.
+     */
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        growToPointer();
+
+        return super.read();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the pointer has been moved beyond the end, this {@code RandomAccessMemory}
+     * grows to include the byte at the pointer.
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if(len > 0) {
+            growToPointer();
+        }
+
+        return super.read(b, off, len);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -65,14 +110,13 @@ public class RandomAccessMemory extends RandomAccess {
         
         int position = (int)pos;
         
-        synchronized(this) {      
-            if(getPointer() > length) {
-                growToIfNeeded(position);
-            }
+        lock.readLock().lock();
+        try {
             if(pos >= length) return -1;
 
-            
             return data[position];
+        } finally {
+            lock.readLock().unlock();
         }      
     }
 
@@ -93,14 +137,14 @@ public class RandomAccessMemory extends RandomAccess {
         
         if(len == 0) return 0;
         
-        synchronized(this) {
-            if(getPointer() > length) {
-                growToIfNeeded(position);
-            }
+        lock.readLock().lock();
+        try {
             if(position >= length) return -1;
             if(position + len >= length) len = length - position;
 
             System.arraycopy(data, position, b, off, len);          
+        } finally {
+            lock.readLock().unlock();
         }     
         
         return len;
@@ -121,9 +165,12 @@ public class RandomAccessMemory extends RandomAccess {
               
         int position = (int)pos;
         
-        synchronized(this) {
+        lock.writeLock().lock();
+        try {
             growToIfNeeded(position);
             data[position] = (byte)b;
+        } finally {
+            lock.writeLock().unlock();
         }      
     }
     /**
@@ -142,18 +189,383 @@ public class RandomAccessMemory extends RandomAccess {
         
         int position = (int)pos;
         
-        synchronized(this) {
-            growToIfNeeded(position + len - 1);
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, len));
             System.arraycopy(b, off, data, position, len);
+        } finally {
+            lock.writeLock().unlock();
         }       
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        int position = (int)pos;
+        int len = dst.remaining();
+
+        if(len == 0) return 0;
+
+        lock.readLock().lock();
+        try {
+            if(position >= length) return -1;
+            if(position + len >= length) len = length - position;
+
+            dst.put(data, position, len);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IndexOutOfBoundsException If {@code pos} is negative or greater than or equals
+     *         {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+
+        int len = src.remaining();
+        if(len == 0) return;
+
+        int position = (int)pos;
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, len));
+            src.get(data, position, len);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method decodes the value directly from the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public short readShortAt(long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.readLock().lock();
+        try {
+            ensureReadable((int)pos, Short.BYTES);
+
+            return (short) ByteArrayViews.shorts(order).get(data, (int)pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method decodes the value directly from the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public int readIntAt(long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.readLock().lock();
+        try {
+            ensureReadable((int)pos, Integer.BYTES);
+
+            return (int) ByteArrayViews.ints(order).get(data, (int)pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method decodes the value directly from the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public long readLongAt(long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.readLock().lock();
+        try {
+            ensureReadable((int)pos, Long.BYTES);
+
+            return (long) ByteArrayViews.longs(order).get(data, (int)pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method decodes the value directly from the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public float readFloatAt(long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.readLock().lock();
+        try {
+            ensureReadable((int)pos, Float.BYTES);
+
+            return (float) ByteArrayViews.floats(order).get(data, (int)pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method decodes the value directly from the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public double readDoubleAt(long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.readLock().lock();
+        try {
+            ensureReadable((int)pos, Double.BYTES);
+
+            return (double) ByteArrayViews.doubles(order).get(data, (int)pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method encodes the value directly into the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeShortAt(short v, long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, Short.BYTES));
+            ByteArrayViews.shorts(order).set(data, (int)pos, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method encodes the value directly into the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeIntAt(int v, long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, Integer.BYTES));
+            ByteArrayViews.ints(order).set(data, (int)pos, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method encodes the value directly into the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeLongAt(long v, long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, Long.BYTES));
+            ByteArrayViews.longs(order).set(data, (int)pos, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method encodes the value directly into the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeFloatAt(float v, long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, Float.BYTES));
+            ByteArrayViews.floats(order).set(data, (int)pos, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method encodes the value directly into the backing array without
+     * any allocation.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} less than zero or
+     *         larger than or equals {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void writeDoubleAt(double v, long pos, ByteOrder order) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        checkNonNull(order);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, Double.BYTES));
+            ByteArrayViews.doubles(order).set(data, (int)pos, v);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method copies the bytes within the backing array using {@code System.arraycopy}.
+     *
+     * @throws IndexOutOfBoundsException if {@code src}, {@code dst} or {@code len} less than zero,
+     *         or the destination range extends beyond {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void copyRange(long src, long dst, long len) throws IOException {
+        ensureOpen();
+        validateCopyParams(src, dst, len);
+
+        if(len == 0) return;
+
+        validatePos(dst + len - 1);
+
+        lock.writeLock().lock();
+        try {
+            if(src + len > length) {
+                throw new EOFException();
+            }
+
+            growToIfNeeded(lastIndex(dst, len));
+            System.arraycopy(data, (int)src, data, (int)dst, (int)len);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This method fills the backing array directly using {@code Arrays.fill}.
+     *
+     * @throws IndexOutOfBoundsException if {@code pos} or {@code len} less than zero,
+     *         or the range extends beyond {@code Integer.MAX_VALUE}
+     */
+    @Override
+    public void fill(long pos, long len, byte value) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        if(len < 0)
+            throw new IndexOutOfBoundsException("len cannot be less than zero");
+        if(len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded(lastIndex(pos, len));
+            Arrays.fill(data, (int)pos, (int)(pos + len), value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public long getLength() throws IOException {
-        return length;
+        lock.readLock().lock();
+        try {
+            return length;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -172,13 +584,14 @@ public class RandomAccessMemory extends RandomAccess {
         ensureOpen();
         
         int nLength = (int)newLength;
-        synchronized(this) {          
+        lock.writeLock().lock();
+        try {
             growToIfNeeded(nLength - 1);
             length = nLength;
-            
-            if(pointer > length) {
-                pointer = length;
-            }
+
+            truncatePointer(length);
+        } finally {
+            lock.writeLock().unlock();
         }       
     }
 
@@ -189,8 +602,11 @@ public class RandomAccessMemory extends RandomAccess {
     public void close() throws IOException {
         super.close();
         
-        synchronized(this) {
+        lock.writeLock().lock();
+        try {
             data = null;
+        } finally {
+            lock.writeLock().unlock();
         }       
     }
 
@@ -209,6 +625,65 @@ public class RandomAccessMemory extends RandomAccess {
         } 
     }
     
+    /**
+     * Ensure {@code size} bytes starting from {@code position} can be read.
+     *
+     * @param position Starting position
+     * @param size Number of bytes to read
+     * @throws EOFException if the bytes extend beyond the end of this {@code RandomAccessMemory}
+     */
+    private void ensureReadable(int position, int size) throws EOFException {
+        if((long)position + size > length) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Grows this {@code RandomAccessMemory} so the byte at the pointer can be read,
+     * if the pointer has been moved beyond the end.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void growToPointer() throws IOException {
+        long pointer = getPointer();
+
+        lock.readLock().lock();
+        try {
+            if(pointer <= length) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            growToIfNeeded((int)pointer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns index of the last byte of {@code size} bytes starting from {@code pos}.
+     *
+     * @param pos Starting position
+     * @param size Number of bytes, greater than zero
+     * @return Index of the last byte
+     * @throws IndexOutOfBoundsException if the last byte is at or beyond {@code Integer.MAX_VALUE}
+     */
+    private static int lastIndex(long pos, long size) {
+        long last;
+        try {
+            last = Math.addExact(pos, size - 1);
+        } catch (ArithmeticException e) {
+            last = Long.MAX_VALUE;
+        }
+
+        if (last >= Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("range cannot extend beyond Integer.MAX_VALUE");
+        }
+        return (int) last;
+    }
+
     /**
      * Grow to some size that making {@code data[pos]} not to throw
      * an exception
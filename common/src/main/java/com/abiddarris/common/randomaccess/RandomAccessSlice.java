@@ -0,0 +1,182 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * View of a region of another {@code RandomAccess}.
+ *
+ * @see RandomAccess#slice(long, long)
+ * @author Abiddarris
+ */
+final class RandomAccessSlice extends RandomAccess {
+
+    /**
+     * {@code RandomAccess} that holds the data
+     */
+    private final RandomAccess source;
+
+    /**
+     * Starting position of this slice in {@code source}
+     */
+    private final long offset;
+
+    /**
+     * Length of this slice
+     */
+    private final long length;
+
+    RandomAccessSlice(RandomAccess source, long offset, long length) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        if (pos >= length) return -1;
+
+        return source.readAt(offset + pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+        if (pos >= length) return -1;
+
+        return source.readAt(b, offset + pos, off, (int) Math.min(len, length - pos));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+        ensureWithin(pos, 1);
+
+        source.writeAt(b, offset + pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+        ensureWithin(pos, len);
+
+        source.writeAt(b, offset + pos, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(ByteBuffer dst, long pos) throws IOException {
+        ensureOpen();
+        validateParams(dst, pos);
+
+        if (!dst.hasRemaining()) return 0;
+        if (pos >= length) return -1;
+
+        int limit = dst.limit();
+        if (dst.remaining() > length - pos) {
+            dst.limit(dst.position() + (int) (length - pos));
+        }
+
+        try {
+            return source.readAt(dst, offset + pos);
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(ByteBuffer src, long pos) throws IOException {
+        ensureOpen();
+        validateParams(src, pos);
+        ensureWithin(pos, src.remaining());
+
+        source.writeAt(src, offset + pos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        return length;
+    }
+
+    /**
+     * Always throws {@code IOException} because length of a slice is fixed.
+     *
+     * @param newLength Ignored
+     * @throws IOException always
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        throw new IOException("Length of a slice cannot be changed");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned slice is created directly on the source of this slice.
+     */
+    @Override
+    public RandomAccess slice(long offset, long length) throws IOException {
+        ensureOpen();
+
+        if (offset < 0 || length < 0 || offset + length < 0 || offset + length > this.length)
+            throw new IndexOutOfBoundsException();
+
+        return source.slice(this.offset + offset, length);
+    }
+
+    /**
+     * Ensure {@code [pos, pos + len)} lies within this slice.
+     *
+     * @param pos Starting position
+     * @param len Number of bytes
+     * @throws IOException if the region extends beyond the end of this slice
+     */
+    private void ensureWithin(long pos, int len) throws IOException {
+        if (pos + len > length) {
+            throw new IOException("Cannot write beyond the end of a slice");
+        }
+    }
+}
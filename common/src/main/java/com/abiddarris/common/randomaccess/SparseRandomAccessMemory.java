@@ -0,0 +1,329 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An implementation of {@code RandomAccess} that provides writing
+ * and reading from memory, storing only the written regions.
+ *
+ * <p>Written bytes are stored in extents kept in offset order. Regions that have
+ * never been written (holes) are not stored and read as zeros, so setting a large
+ * length or writing far beyond the end does not allocate memory for the skipped region.
+ *
+ * <p>Sequential writes are appended into the preceding extent until it reaches the
+ * maximum extent size, so the number of extents stays proportional to the number of
+ * separately written regions.
+ *
+ * @author Abiddarris
+ */
+public class SparseRandomAccessMemory extends RandomAccess {
+
+    /**
+     * Default maximum size of each extent
+     */
+    public static final int DEFAULT_MAX_EXTENT_SIZE = 64 * 1024;
+
+    /**
+     * Maximum size of each extent
+     */
+    private final int maxExtentSize;
+
+    /**
+     * Extents keyed by their starting position. Extents never overlap each other.
+     */
+    private final TreeMap<Long, Extent> extents = new TreeMap<>();
+
+    /**
+     * This {@code SparseRandomAccessMemory}'s length
+     */
+    private long length;
+
+    /**
+     * Number of bytes allocated by extents
+     */
+    private long allocatedSize;
+
+    /**
+     * Create new {@code SparseRandomAccessMemory} with {@link #DEFAULT_MAX_EXTENT_SIZE}.
+     */
+    public SparseRandomAccessMemory() {
+        this(DEFAULT_MAX_EXTENT_SIZE);
+    }
+
+    /**
+     * Create new {@code SparseRandomAccessMemory}.
+     *
+     * @param maxExtentSize Maximum size of each extent
+     * @throws IllegalArgumentException if {@code maxExtentSize} is less than or equals zero
+     */
+    public SparseRandomAccessMemory(int maxExtentSize) {
+        if (maxExtentSize <= 0)
+            throw new IllegalArgumentException("maxExtentSize must be greater than zero");
+
+        this.maxExtentSize = maxExtentSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            Map.Entry<Long, Extent> floor = extents.floorEntry(pos);
+            if (floor == null || !floor.getValue().contains(floor.getKey(), pos)) {
+                return 0;
+            }
+
+            return floor.getValue().data[(int) (pos - floor.getKey())] & 0xFF;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        synchronized (this) {
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+            Arrays.fill(b, off, off + len, (byte) 0);
+
+            long end = pos + len;
+            Long from = extents.floorKey(pos);
+            for (Map.Entry<Long, Extent> entry : extents.subMap(from == null ? pos : from, true, end, false).entrySet()) {
+                long start = entry.getKey();
+                Extent extent = entry.getValue();
+
+                long copyFrom = Math.max(start, pos);
+                long copyTo = Math.min(start + extent.length, end);
+                if (copyFrom >= copyTo) continue;
+
+                System.arraycopy(extent.data, (int) (copyFrom - start), b,
+                        off + (int) (copyFrom - pos), (int) (copyTo - copyFrom));
+            }
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        writeAt(new byte[] {(byte) b}, pos, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        validatePos(pos + len - 1);
+
+        synchronized (this) {
+            long end = pos + len;
+            while (pos < end) {
+                Map.Entry<Long, Extent> floor = extents.floorEntry(pos);
+                long floorStart = floor == null ? -1 : floor.getKey();
+                Extent floorExtent = floor == null ? null : floor.getValue();
+
+                int n;
+                if (floorExtent != null && floorExtent.contains(floorStart, pos)) {
+                    n = (int) Math.min(end - pos, floorStart + floorExtent.length - pos);
+
+                    System.arraycopy(b, off, floorExtent.data, (int) (pos - floorStart), n);
+                } else {
+                    Long next = extents.higherKey(pos);
+                    n = (int) Math.min(end - pos, next == null ? Long.MAX_VALUE : next - pos);
+
+                    if (floorExtent != null && floorStart + floorExtent.length == pos
+                            && floorExtent.length < maxExtentSize) {
+                        n = Math.min(n, maxExtentSize - floorExtent.length);
+                        append(floorExtent, b, off, n);
+                    } else {
+                        n = Math.min(n, maxExtentSize);
+
+                        Extent extent = new Extent(n);
+                        System.arraycopy(b, off, extent.data, 0, n);
+                        extent.length = n;
+
+                        extents.put(pos, extent);
+                        allocatedSize += n;
+                    }
+                }
+
+                pos += n;
+                off += n;
+            }
+
+            if (end > length) {
+                length = end;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long getLength() throws IOException {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Growing this {@code SparseRandomAccessMemory} does not allocate any memory.
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        synchronized (this) {
+            if (newLength < length) {
+                shrinkTo(newLength);
+            }
+            length = newLength;
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * Returns number of bytes that actually allocated by this {@code SparseRandomAccessMemory}.
+     *
+     * @return Number of allocated bytes
+     */
+    public synchronized long getAllocatedSize() {
+        return allocatedSize;
+    }
+
+    /**
+     * Returns number of extents stored by this {@code SparseRandomAccessMemory}.
+     *
+     * @return Number of extents
+     */
+    public synchronized int getExtentCount() {
+        return extents.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+
+        synchronized (this) {
+            extents.clear();
+            allocatedSize = 0;
+            length = 0;
+        }
+    }
+
+    /**
+     * Appends {@code n} bytes into the end of {@code extent}, grows its capacity if needed.
+     *
+     * @param extent Extent to append to
+     * @param b Source array
+     * @param off Offset in {@code b}
+     * @param n Number of bytes to append, {@code extent.length + n} must not exceed
+     *        {@code maxExtentSize}
+     */
+    private void append(Extent extent, byte[] b, int off, int n) {
+        int required = extent.length + n;
+        if (required > extent.data.length) {
+            int capacity = (int) Math.min(maxExtentSize, Math.max(required, (long) extent.data.length * 2));
+
+            allocatedSize += capacity - extent.data.length;
+            extent.data = Arrays.copyOf(extent.data, capacity);
+        }
+
+        System.arraycopy(b, off, extent.data, extent.length, n);
+        extent.length = required;
+    }
+
+    /**
+     * Discards stored bytes at and beyond {@code newLength}.
+     *
+     * @param newLength New length, must be less than current length
+     */
+    private void shrinkTo(long newLength) {
+        Map<Long, Extent> tail = extents.tailMap(newLength, true);
+        for (Extent extent : tail.values()) {
+            allocatedSize -= extent.data.length;
+        }
+        tail.clear();
+
+        Map.Entry<Long, Extent> last = extents.lastEntry();
+        if (last != null) {
+            Extent extent = last.getValue();
+            long start = last.getKey();
+            if (start + extent.length > newLength) {
+                extent.length = (int) (newLength - start);
+            }
+        }
+    }
+
+    /**
+     * Stored region of written bytes.
+     */
+    private static final class Extent {
+
+        /**
+         * Stored bytes, only the first {@code length} bytes are valid
+         */
+        private byte[] data;
+
+        /**
+         * Number of valid bytes
+         */
+        private int length;
+
+        private Extent(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        private boolean contains(long start, long pos) {
+            return pos < start + length;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@code RandomAccess} that keeps its content in memory until it grows too large,
+ * then moves it into a temporary file.
+ *
+ * <p>Content is kept in {@link PagedRandomAccessMemory} while its length does not
+ * exceed the threshold of this instance and the global budget shared by every
+ * {@code SpillableRandomAccess} still has room. Once either limit is exceeded the
+ * content is copied into a temporary file and served by {@link RandomAccessFileChannel}
+ * from then on. The temporary file is deleted when this {@code SpillableRandomAccess}
+ * is closed.
+ *
+ * @author Abiddarris
+ */
+public class SpillableRandomAccess extends RandomAccess {
+
+    /**
+     * Default length that causes content to be moved into a temporary file
+     */
+    public static final long DEFAULT_THRESHOLD = 64 * 1024 * 1024;
+
+    /**
+     * Memory used by every {@code SpillableRandomAccess} that has not spilled yet
+     */
+    private static final AtomicLong globalUsage = new AtomicLong();
+
+    /**
+     * Maximum memory used by every {@code SpillableRandomAccess}
+     */
+    private static volatile long globalBudget = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * Length that causes this instance to spill
+     */
+    private final long threshold;
+
+    /**
+     * Directory of temporary file, {@code null} for default temporary directory
+     */
+    private final File directory;
+
+    /**
+     * Guards {@code backend} and {@code reserved}
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * {@code RandomAccess} that currently holds the content
+     */
+    private RandomAccess backend = new PagedRandomAccessMemory();
+
+    /**
+     * Bytes reserved from global budget
+     */
+    private long reserved;
+
+    /**
+     * Whether content has been moved into a temporary file
+     */
+    private boolean spilled;
+
+    /**
+     * Create new {@code SpillableRandomAccess} with {@link #DEFAULT_THRESHOLD}.
+     */
+    public SpillableRandomAccess() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Create new {@code SpillableRandomAccess} that creates temporary file in
+     * default temporary directory.
+     *
+     * @param threshold Length that causes content to be moved into a temporary file
+     * @throws IllegalArgumentException if {@code threshold} is negative
+     */
+    public SpillableRandomAccess(long threshold) {
+        this(threshold, null);
+    }
+
+    /**
+     * Create new {@code SpillableRandomAccess}.
+     *
+     * @param threshold Length that causes content to be moved into a temporary file
+     * @param directory Directory of temporary file, {@code null} for default temporary directory
+     * @throws IllegalArgumentException if {@code threshold} is negative
+     */
+    public SpillableRandomAccess(long threshold, File directory) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("threshold cannot be negative");
+
+        this.threshold = threshold;
+        this.directory = directory;
+    }
+
+    /**
+     * Sets maximum memory shared by every {@code SpillableRandomAccess}. Instances that
+     * already use more memory keep it until they grow, shrink or are closed.
+     *
+     * @param budget Maximum memory in bytes
+     * @throws IllegalArgumentException if {@code budget} is negative
+     */
+    public static void setGlobalBudget(long budget) {
+        if (budget < 0)
+            throw new IllegalArgumentException("budget cannot be negative");
+
+        globalBudget = budget;
+    }
+
+    /**
+     * Returns maximum memory shared by every {@code SpillableRandomAccess}.
+     * Defaults to a quarter of {@link Runtime#maxMemory()}.
+     *
+     * @return Maximum memory in bytes
+     */
+    public static long getGlobalBudget() {
+        return globalBudget;
+    }
+
+    /**
+     * Returns memory currently used by every {@code SpillableRandomAccess}.
+     *
+     * @return Used memory in bytes
+     */
+    public static long getGlobalUsage() {
+        return globalUsage.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        lock.readLock().lock();
+        try {
+            return backend.readAt(pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        lock.readLock().lock();
+        try {
+            return backend.readAt(b, pos, off, len);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        ensureOpen();
+        validatePos(pos);
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(pos + 1);
+            backend.writeAt(b, pos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(pos + len);
+            backend.writeAt(b, pos, off, len);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLength() throws IOException {
+        lock.readLock().lock();
+        try {
+            return backend.getLength();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(newLength);
+            backend.setLength(newLength);
+
+            if (!spilled && newLength < reserved) {
+                release(reserved - newLength);
+            }
+
+            truncatePointer(newLength);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether content has been moved into a temporary file.
+     *
+     * @return {@code true} if content is stored in a temporary file
+     */
+    public boolean isSpilled() {
+        lock.readLock().lock();
+        try {
+            return spilled;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes this {@code SpillableRandomAccess}, releases its memory and
+     * deletes its temporary file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (!isOpen()) return;
+
+        super.close();
+
+        lock.writeLock().lock();
+        try {
+            release(reserved);
+            backend.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes sure this instance can hold {@code length} bytes, spills if memory
+     * is not allowed to grow that far. Must be called with write lock held.
+     */
+    private void ensureCapacity(long length) throws IOException {
+        if (spilled || length <= reserved) return;
+
+        if (length <= threshold && reserve(length - reserved)) {
+            reserved = length;
+            return;
+        }
+
+        spill();
+    }
+
+    /**
+     * Copies content into a temporary file that is deleted when closed.
+     */
+    private void spill() throws IOException {
+        Path path = directory == null
+                ? Files.createTempFile("spill", ".tmp")
+                : Files.createTempFile(directory.toPath(), "spill", ".tmp");
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        RandomAccess memory = backend;
+        try {
+            long length = memory.getLength();
+            if (memory.transferTo(0, length, channel) != length) {
+                throw new IOException("Unable to move content into temporary file");
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        backend = new RandomAccessFileChannel(channel);
+        spilled = true;
+
+        release(reserved);
+        memory.close();
+    }
+
+    private void release(long bytes) {
+        globalUsage.addAndGet(-bytes);
+        reserved -= bytes;
+    }
+
+    private static boolean reserve(long bytes) {
+        while (true) {
+            long usage = globalUsage.get();
+            if (usage + bytes > globalBudget) return false;
+
+            if (globalUsage.compareAndSet(usage, usage + bytes)) return true;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess;
+
+import static com.abiddarris.common.utils.Preconditions.checkNonNull;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * {@code RandomAccess} that buffers writes into another {@code RandomAccess}.
+ *
+ * <p>Written bytes are kept in memory as dirty ranges, adjacent and overlapping
+ * ranges are merged into one. Each range keeps spare capacity that grows
+ * geometrically, so extending a range by sequential writes is amortized
+ * constant time per byte. Dirty ranges are written into the wrapped
+ * {@code RandomAccess} in offset order when {@link #flush()} or {@link #close()}
+ * is called, or when the size of dirty ranges reaches the flush threshold.
+ *
+ * <p>Reads always see pending writes.
+ *
+ * <p>Closing this {@code WriteBackRandomAccess} will close the wrapped {@code RandomAccess}.
+ *
+ * @author Abiddarris
+ */
+public class WriteBackRandomAccess extends RandomAccess implements Flushable {
+
+    /**
+     * Default flush threshold
+     */
+    public static final int DEFAULT_FLUSH_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Wrapped {@code RandomAccess}
+     */
+    private final RandomAccess source;
+
+    /**
+     * Size of dirty ranges that triggers a flush
+     */
+    private final int flushThreshold;
+
+    /**
+     * Dirty ranges keyed by their starting position. Ranges never overlap or touch each other.
+     */
+    private final TreeMap<Long, Extent> dirty = new TreeMap<>();
+
+    /**
+     * Total size of dirty ranges
+     */
+    private long dirtyBytes;
+
+    /**
+     * Create new {@code WriteBackRandomAccess} with {@link #DEFAULT_FLUSH_THRESHOLD}.
+     *
+     * @param source {@code RandomAccess} to write into
+     * @throws NullPointerException if {@code source} is {@code null}
+     */
+    public WriteBackRandomAccess(RandomAccess source) {
+        this(source, DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * Create new {@code WriteBackRandomAccess}.
+     *
+     * @param source {@code RandomAccess} to write into
+     * @param flushThreshold Size of dirty ranges that triggers a flush. Writes that are
+     *        larger than or equals this value are written directly.
+     * @throws NullPointerException if {@code source} is {@code null}
+     * @throws IllegalArgumentException if {@code flushThreshold} is less than or equals zero
+     *         or larger than {@code Integer.MAX_VALUE / 2}
+     */
+    public WriteBackRandomAccess(RandomAccess source, int flushThreshold) {
+        checkNonNull(source);
+
+        if (flushThreshold <= 0 || flushThreshold > Integer.MAX_VALUE / 2)
+            throw new IllegalArgumentException("flushThreshold must be between 1 and Integer.MAX_VALUE / 2");
+
+        this.source = source;
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(long pos) throws IOException {
+        byte[] b = new byte[1];
+
+        return readAt(b, pos, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return 0;
+
+        synchronized (this) {
+            long length = getLength();
+            if (pos >= length) return -1;
+
+            len = (int) Math.min(len, length - pos);
+
+            int fromSource = 0;
+            while (fromSource < len) {
+                int read = source.readAt(b, pos + fromSource, off + fromSource, len - fromSource);
+                if (read == -1) break;
+
+                fromSource += read;
+            }
+            Arrays.fill(b, off + fromSource, off + len, (byte) 0);
+
+            long end = pos + len;
+            for (Map.Entry<Long, Extent> entry : overlapping(pos, end).entrySet()) {
+                long start = entry.getKey();
+                Extent extent = entry.getValue();
+
+                long from = Math.max(start, pos);
+                long to = Math.min(start + extent.length, end);
+                if (from >= to) continue;
+
+                System.arraycopy(extent.data, (int) (from - start), b, off + (int) (from - pos), (int) (to - from));
+            }
+        }
+
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(int b, long pos) throws IOException {
+        writeAt(new byte[] {(byte) b}, pos, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeAt(byte[] b, long pos, int off, int len) throws IOException {
+        ensureOpen();
+        validateParams(b, pos, off, len);
+
+        if (len == 0) return;
+
+        synchronized (this) {
+            if (len >= flushThreshold) {
+                flush();
+                source.writeAt(b, pos, off, len);
+                return;
+            }
+
+            long end = pos + len;
+            NavigableMap<Long, Extent> overlapping = overlapping(pos, end + 1);
+
+            Map.Entry<Long, Extent> first = overlapping.firstEntry();
+            if (overlapping.size() == 1 && first.getKey() <= pos) {
+                Extent extent = first.getValue();
+                int oldLength = extent.length;
+
+                extent.write(b, off, (int) (pos - first.getKey()), len);
+                dirtyBytes += extent.length - oldLength;
+            } else {
+                long start = pos;
+                long newEnd = end;
+                for (Map.Entry<Long, Extent> entry : overlapping.entrySet()) {
+                    start = Math.min(start, entry.getKey());
+                    newEnd = Math.max(newEnd, entry.getKey() + entry.getValue().length);
+                }
+
+                Extent merged = new Extent((int) (newEnd - start));
+                for (Map.Entry<Long, Extent> entry : overlapping.entrySet()) {
+                    Extent extent = entry.getValue();
+                    merged.write(extent.data, 0, (int) (entry.getKey() - start), extent.length);
+
+                    dirtyBytes -= extent.length;
+                }
+                merged.write(b, off, (int) (pos - start), len);
+
+                overlapping.clear();
+                dirty.put(start, merged);
+                dirtyBytes += merged.length;
+            }
+
+            if (dirtyBytes >= flushThreshold) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned length includes pending writes.
+     */
+    @Override
+    public synchronized long getLength() throws IOException {
+        long length = source.getLength();
+        if (!dirty.isEmpty()) {
+            Map.Entry<Long, Extent> last = dirty.lastEntry();
+            length = Math.max(length, last.getKey() + last.getValue().length);
+        }
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Pending writes are flushed before changing the length.
+     */
+    @Override
+    public void setLength(long newLength) throws IOException {
+        if(newLength < 0)
+            throw new IndexOutOfBoundsException();
+
+        ensureOpen();
+
+        synchronized (this) {
+            flush();
+            source.setLength(newLength);
+
+            truncatePointer(newLength);
+        }
+    }
+
+    /**
+     * Returns total size of writes that have not been flushed yet.
+     *
+     * @return Size of pending writes in bytes
+     */
+    public synchronized long getPendingBytes() {
+        return dirtyBytes;
+    }
+
+    /**
+     * Writes all pending writes into the wrapped {@code RandomAccess} in offset order.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        while (!dirty.isEmpty()) {
+            Map.Entry<Long, Extent> entry = dirty.firstEntry();
+            Extent extent = entry.getValue();
+
+            source.writeAt(extent.data, entry.getKey(), 0, extent.length);
+
+            dirty.pollFirstEntry();
+            dirtyBytes -= extent.length;
+        }
+    }
+
+    /**
+     * Flushes pending writes, then closes this {@code WriteBackRandomAccess}
+     * and the wrapped {@code RandomAccess}.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (!isOpen()) return;
+
+        try {
+            flush();
+        } finally {
+            super.close();
+            source.close();
+        }
+    }
+
+    /**
+     * Returns dirty ranges that overlap {@code [pos, end)}.
+     *
+     * @param pos Starting position
+     * @param end End position, exclusive
+     * @return View of overlapping dirty ranges
+     */
+    private NavigableMap<Long, Extent> overlapping(long pos, long end) {
+        long from = pos;
+
+        Map.Entry<Long, Extent> floor = dirty.floorEntry(pos);
+        if (floor != null && floor.getKey() + floor.getValue().length >= pos) {
+            from = floor.getKey();
+        }
+
+        return dirty.subMap(from, true, end, false);
+    }
+
+    /**
+     * Dirty range with spare capacity
+     */
+    private static final class Extent {
+
+        /**
+         * Range content, only the first {@code length} bytes are valid
+         */
+        private byte[] data;
+
+        /**
+         * Number of valid bytes in {@code data}
+         */
+        private int length;
+
+        private Extent(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        /**
+         * Writes {@code len} bytes of {@code b} at {@code offset} of this extent, growing it if needed.
+         */
+        private void write(byte[] b, int off, int offset, int len) {
+            int end = offset + len;
+            if (end > data.length) {
+                data = Arrays.copyOf(data, Math.max(end, data.length * 2));
+            }
+
+            System.arraycopy(b, off, data, offset, len);
+            length = Math.max(length, end);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess.cache;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code EvictionPolicy} that implements CLOCK (second chance) algorithm.
+ *
+ * <p>Every tracked page has a reference bit that is set when the page is accessed.
+ * When asked for a victim, the clock hand sweeps the pages, clearing the reference bits,
+ * and evicts the first page whose bit is already cleared. Unlike {@link LruEvictionPolicy},
+ * accessing a page only sets a bit and does not reorder anything.
+ *
+ * @author Abiddarris
+ */
+public class ClockEvictionPolicy implements EvictionPolicy {
+
+    /**
+     * Page index in each slot
+     */
+    private long[] pages = new long[16];
+
+    /**
+     * Reference bit of each slot
+     */
+    private boolean[] referenced = new boolean[16];
+
+    /**
+     * Whether each slot holds a page
+     */
+    private boolean[] used = new boolean[16];
+
+    /**
+     * Maps page index into its slot
+     */
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    /**
+     * Slots that were released and can be reused
+     */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * Number of slots that have ever been used
+     */
+    private int size;
+
+    /**
+     * Current position of the clock hand
+     */
+    private int hand;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onInsert(long page) {
+        if (slots.containsKey(page)) {
+            onAccess(page);
+            return;
+        }
+
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            if (size == pages.length) {
+                int capacity = pages.length * 2;
+                pages = Arrays.copyOf(pages, capacity);
+                referenced = Arrays.copyOf(referenced, capacity);
+                used = Arrays.copyOf(used, capacity);
+            }
+            slot = size++;
+        }
+
+        pages[slot] = page;
+        referenced[slot] = true;
+        used[slot] = true;
+        slots.put(page, slot);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onAccess(long page) {
+        Integer slot = slots.get(page);
+        if (slot != null) {
+            referenced[slot] = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRemove(long page) {
+        Integer slot = slots.remove(page);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long evict() {
+        if (slots.isEmpty()) {
+            return -1;
+        }
+
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % size;
+
+            if (!used[slot]) continue;
+
+            if (referenced[slot]) {
+                referenced[slot] = false;
+                continue;
+            }
+
+            long page = pages[slot];
+            slots.remove(page);
+            release(slot);
+
+            return page;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        slots.clear();
+        freeSlots.clear();
+        Arrays.fill(used, false);
+        size = 0;
+        hand = 0;
+    }
+
+    private void release(int slot) {
+        used[slot] = false;
+        referenced[slot] = false;
+        freeSlots.push(slot);
+    }
+}
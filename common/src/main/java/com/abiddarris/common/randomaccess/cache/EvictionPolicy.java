@@ -0,0 +1,63 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess.cache;
+
+/**
+ * Policy that decides which page should be evicted from a page cache.
+ *
+ * <p>Pages are identified by their index. The cache notifies the policy every time
+ * a page is inserted, accessed or removed, and asks the policy to choose a victim when
+ * the cache is full. Implementations do not need to be thread safe, the cache
+ * always calls them while holding its own lock.
+ *
+ * @author Abiddarris
+ */
+public interface EvictionPolicy {
+
+    /**
+     * Called when a page is inserted into the cache.
+     *
+     * @param page Index of inserted page
+     */
+    void onInsert(long page);
+
+    /**
+     * Called when a cached page is accessed.
+     *
+     * @param page Index of accessed page
+     */
+    void onAccess(long page);
+
+    /**
+     * Called when a page is removed from the cache without being evicted,
+     * for example when it is invalidated.
+     *
+     * @param page Index of removed page
+     */
+    void onRemove(long page);
+
+    /**
+     * Chooses a page to evict and stops tracking it.
+     *
+     * @return Index of page to evict, or {@code -1} if no page is tracked
+     */
+    long evict();
+
+    /**
+     * Stops tracking all pages.
+     */
+    void clear();
+}
@@ -0,0 +1,82 @@
+/***********************************************************************************
+ * Copyright 2025 Abiddarris
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***********************************************************************************/
+package com.abiddarris.common.randomaccess.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * {@code EvictionPolicy} that evicts the least recently used page.
+ *
+ * @author Abiddarris
+ */
+public class LruEvictionPolicy implements EvictionPolicy {
+
+    /**
+     * Tracked pages, ordered from the least recently used
+     */
+    private final LinkedHashSet<Long> pages = new LinkedHashSet<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onInsert(long page) {
+        pages.add(page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onAccess(long page) {
+        if (pages.remove(page)) {
+            pages.add(page);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRemove(long page) {
+        pages.remove(page);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long evict() {
+        Iterator<Long> iterator = pages.iterator();
+        if (!iterator.hasNext()) {
+            return -1;
+        }
+
+        long page = iterator.next();
+        iterator.remove();
+
+        return page;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        pages.clear();
+    }
+}
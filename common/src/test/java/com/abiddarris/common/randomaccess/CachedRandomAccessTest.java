@@ -0,0 +1,160 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.abiddarris.common.randomaccess.cache.ClockEvictionPolicy;
+import com.abiddarris.common.randomaccess.cache.LruEvictionPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CachedRandomAccessTest {
+
+    private RandomAccessMemory source = new RandomAccessMemory();
+
+    @Test
+    public void read_is_served_from_cache() throws IOException {
+        source.write("0123456789".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4, 64, new LruEvictionPolicy());
+        byte[] buf = new byte[10];
+
+        assertEquals(10, cache.readAt(buf, 0));
+        assertArrayEquals("0123456789".getBytes(), buf);
+        assertEquals(3, cache.getMissCount());
+
+        assertEquals('5', cache.readAt(5));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(-1, cache.readAt(10));
+    }
+
+    @Test
+    public void write_updates_source_and_cache() throws IOException {
+        source.write("0123456789".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4, 64, new LruEvictionPolicy());
+        cache.readAt(new byte[10], 0);
+        cache.writeAt("abc".getBytes(), 3);
+        cache.writeAt("XY".getBytes(), 9);
+
+        byte[] buf = new byte[11];
+
+        assertEquals(11, cache.readAt(buf, 0));
+        assertArrayEquals("012abc678XY".getBytes(), buf);
+        assertEquals(11, source.getLength());
+        assertEquals('X', source.readAt(9));
+    }
+
+    @Test
+    public void lru_evicts_least_recently_used_page() throws IOException {
+        source.write("0123456789ab".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4, 8, new LruEvictionPolicy());
+        cache.readAt(0);
+        cache.readAt(4);
+        cache.readAt(0);
+        cache.readAt(8);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getCachedPageCount());
+
+        long misses = cache.getMissCount();
+        cache.readAt(1);
+
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    @Test
+    public void clock_gives_second_chance() throws IOException {
+        source.write("0123456789ab".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4, 8, new ClockEvictionPolicy());
+        cache.readAt(0);
+        cache.readAt(4);
+        cache.readAt(8);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getCachedPageCount());
+        assertEquals('9', cache.readAt(9));
+    }
+
+    @Test
+    public void shrink_invalidates_pages() throws IOException {
+        source.write("0123456789".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4, 64, new LruEvictionPolicy());
+        cache.readAt(new byte[10], 0);
+        cache.setLength(6);
+
+        assertEquals(-1, cache.readAt(6));
+        assertEquals('5', cache.readAt(5));
+        assertEquals(6, cache.getLength());
+    }
+
+    @Test
+    public void growth_invalidates_partial_last_page() throws IOException {
+        source.write(new byte[100]);
+
+        CachedRandomAccess cache = new CachedRandomAccess(source, 4096, 64 * 1024, new LruEvictionPolicy());
+
+        assertEquals(0, cache.readAt(50));
+
+        cache.writeAt(7, 5000);
+
+        assertEquals(5001, cache.getLength());
+        assertEquals(0, cache.readAt(200));
+        assertEquals(7, cache.readAt(5000));
+
+        cache.setLength(10000);
+
+        assertEquals(0, cache.readAt(9999));
+        assertEquals(0, cache.readAt(4500));
+    }
+
+    @Test
+    public void miss_does_not_block_other_pages() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RandomAccessMemory blocking = new RandomAccessMemory() {
+            @Override
+            public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+                if (pos == 0) {
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                return super.readAt(b, pos, off, len);
+            }
+        };
+        blocking.write("0123456789".getBytes());
+
+        CachedRandomAccess cache = new CachedRandomAccess(blocking, 4, 64, new LruEvictionPolicy());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> blocked = executor.submit(() -> cache.readAt(0));
+            loading.await();
+
+            Future<Integer> other = executor.submit(() -> cache.readAt(5));
+
+            assertEquals('5', (int) other.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+
+            assertEquals('0', (int) blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ChecksummedRandomAccessTest {
+
+    private RandomAccessMemory data = new RandomAccessMemory();
+    private RandomAccessMemory checksums = new RandomAccessMemory();
+
+    @Test
+    public void write_then_read() throws IOException {
+        try (ChecksummedRandomAccess checked = new ChecksummedRandomAccess(data, checksums, 16)) {
+            checked.writeAt("hello world".getBytes(), 10);
+            checked.writeAt('X', 50);
+
+            byte[] buf = new byte[11];
+
+            assertEquals(51, checked.getLength());
+            assertEquals(4 * Integer.BYTES, checksums.getLength());
+            assertEquals(11, checked.readAt(buf, 10));
+            assertArrayEquals("hello world".getBytes(), buf);
+            assertEquals(0, checked.readAt(40));
+            assertEquals('X', checked.readAt(50));
+            assertEquals(-1, checked.readAt(51));
+        }
+    }
+
+    @Test
+    public void corruption_detected_after_reset() throws IOException {
+        ChecksummedRandomAccess checked = new ChecksummedRandomAccess(data, checksums, 16);
+        checked.writeAt(new byte[64], 0);
+
+        data.writeAt(1, 20);
+
+        assertEquals(1, checked.readAt(20));
+
+        checked.resetVerification();
+
+        assertThrows(IOException.class, () -> checked.readAt(20));
+        assertThrows(IOException.class, () -> checked.readAt(new byte[8], 16));
+        assertEquals(0, checked.readAt(0));
+    }
+
+    @Test
+    public void partial_write_does_not_cover_corruption() throws IOException {
+        ChecksummedRandomAccess checked = new ChecksummedRandomAccess(data, checksums, 16);
+        checked.writeAt(new byte[32], 0);
+        checked.resetVerification();
+
+        data.writeAt(1, 3);
+
+        assertThrows(IOException.class, () -> checked.writeAt('X', 10));
+        assertThrows(IOException.class, () -> checked.setLength(8));
+
+        checked.resetVerification();
+
+        assertThrows(IOException.class, () -> checked.readAt(3));
+
+        checked.writeAt(new byte[16], 0);
+
+        assertEquals(0, checked.readAt(3));
+    }
+
+    @Test
+    public void existing_data_is_protected() throws IOException {
+        data.writeAt("existing content".getBytes(), 0);
+
+        new ChecksummedRandomAccess(data, checksums, 4);
+
+        assertEquals(4 * Integer.BYTES, checksums.getLength());
+
+        data.writeAt('E', 0);
+
+        assertThrows(IOException.class, () -> new ChecksummedRandomAccess(data, checksums, 4).readAt(0));
+    }
+
+    @Test
+    public void set_length() throws IOException {
+        ChecksummedRandomAccess checked = new ChecksummedRandomAccess(
+                new PagedRandomAccessMemory(8), checksums, 8);
+        checked.writeAt("0123456789abcdef".getBytes(), 0);
+
+        checked.setLength(10);
+
+        assertEquals(2 * Integer.BYTES, checksums.getLength());
+
+        checked.setLength(20);
+        checked.resetVerification();
+
+        assertEquals('9', checked.readAt(9));
+        assertEquals(0, checked.readAt(10));
+        assertEquals(0, checked.readAt(19));
+    }
+
+    @Test
+    public void scrub_reports_corrupted_blocks() throws Exception {
+        ChecksummedRandomAccess checked = new ChecksummedRandomAccess(data, checksums, 16);
+        checked.writeAt(new byte[1000], 0);
+
+        data.writeAt(1, 100);
+        data.writeAt(1, 999);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(List.of(6L, 62L), checked.scrub(executor, 4).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void scrub_on_single_thread_executor() throws Exception {
+        ChecksummedRandomAccess checked = new ChecksummedRandomAccess(data, checksums, 16);
+        checked.writeAt(new byte[100], 0);
+
+        data.writeAt(1, 40);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(List.of(2L), checked.scrub(executor, 1).get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(2L), checked.scrub(executor, 4).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
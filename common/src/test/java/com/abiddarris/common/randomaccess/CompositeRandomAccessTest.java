@@ -0,0 +1,81 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class CompositeRandomAccessTest {
+
+    private static PagedRandomAccessMemory segment(String content) throws IOException {
+        PagedRandomAccessMemory memory = new PagedRandomAccessMemory(4);
+        memory.write(content.getBytes());
+        return memory;
+    }
+
+    @Test
+    public void read_spanning_segments() throws IOException {
+        CompositeRandomAccess composite = new CompositeRandomAccess(
+                segment("hello"), segment(""), segment(" wor"), segment("ld"));
+
+        byte[] buf = new byte[11];
+
+        assertEquals(11, composite.getLength());
+        assertEquals(11, composite.readAt(buf, 0));
+        assertArrayEquals("hello world".getBytes(), buf);
+        assertEquals('w', composite.readAt(6));
+        assertEquals(-1, composite.readAt(11));
+        assertEquals(-1, composite.readAt(buf, 11));
+
+        buf = new byte[4];
+
+        assertEquals(4, composite.readAt(buf, 3));
+        assertArrayEquals("lo w".getBytes(), buf);
+    }
+
+    @Test
+    public void write_spanning_segments() throws IOException {
+        PagedRandomAccessMemory first = segment("aaa");
+        PagedRandomAccessMemory last = segment("bbb");
+        CompositeRandomAccess composite = new CompositeRandomAccess(first, last);
+
+        composite.writeAt("XYZW".getBytes(), 1);
+        composite.writeAt("!!".getBytes(), 6);
+
+        byte[] buf = new byte[8];
+
+        assertEquals(8, composite.readAt(buf, 0));
+        assertArrayEquals("aXYZWb!!".getBytes(), buf);
+        assertEquals(3, first.getLength());
+        assertEquals(5, last.getLength());
+    }
+
+    @Test
+    public void set_length_only_affects_last_segment() throws IOException {
+        CompositeRandomAccess composite = new CompositeRandomAccess(segment("aaa"), segment("bbb"));
+        composite.setLength(4);
+
+        assertEquals(4, composite.getLength());
+        assertThrows(IOException.class, () -> composite.setLength(2));
+    }
+
+    @Test
+    public void close_closes_all_segments() throws IOException {
+        PagedRandomAccessMemory first = segment("a");
+        PagedRandomAccessMemory last = segment("b");
+
+        new CompositeRandomAccess(first, last).close();
+
+        assertFalse(first.isOpen());
+        assertFalse(last.isOpen());
+    }
+
+    @Test
+    public void no_segment() {
+        assertThrows(IllegalArgumentException.class, () -> new CompositeRandomAccess());
+    }
+}
@@ -0,0 +1,95 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class CompressedRandomAccessTest {
+
+    private PagedRandomAccessMemory storage = new PagedRandomAccessMemory(1024);
+
+    @Test
+    public void sequential_write_then_random_read() throws IOException {
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i / 100);
+        }
+
+        try (CompressedRandomAccess compressed = new CompressedRandomAccess(storage, 512, 2)) {
+            compressed.write(data);
+
+            assertEquals(data.length, compressed.getLength());
+
+            byte[] buf = new byte[700];
+
+            assertEquals(700, compressed.readAt(buf, 4321));
+            assertArrayEquals(Arrays.copyOfRange(data, 4321, 5021), buf);
+            assertEquals(data[9999] & 0xFF, compressed.readAt(9999));
+            assertEquals(-1, compressed.readAt(10_000));
+
+            compressed.flush();
+
+            assertTrue(storage.getLength() < data.length / 4);
+        }
+    }
+
+    @Test
+    public void reopen_reads_flushed_content() throws IOException {
+        CompressedRandomAccess compressed = new CompressedRandomAccess(storage, 64, 1);
+        compressed.write("hello compressed world".getBytes());
+        compressed.writeAt("X".getBytes(), 200);
+        compressed.flush();
+
+        compressed = new CompressedRandomAccess(storage, 1024, 1);
+
+        byte[] buf = new byte[22];
+
+        assertEquals(201, compressed.getLength());
+        assertEquals(22, compressed.readAt(buf, 0));
+        assertArrayEquals("hello compressed world".getBytes(), buf);
+        assertEquals(0, compressed.readAt(100));
+        assertEquals('X', compressed.readAt(200));
+    }
+
+    @Test
+    public void rewrite_block() throws IOException {
+        CompressedRandomAccess compressed = new CompressedRandomAccess(storage, 16, 1);
+        compressed.write("aaaaaaaaaaaaaaaabbbbbbbbbbbbbbbb".getBytes());
+        compressed.writeAt("XY".getBytes(), 3);
+        compressed.writeAt("Z".getBytes(), 20);
+        compressed.flush();
+
+        compressed = new CompressedRandomAccess(storage);
+
+        byte[] buf = new byte[32];
+
+        assertEquals(32, compressed.readAt(buf, 0));
+        assertArrayEquals("aaaXYaaaaaaaaaaabbbbZbbbbbbbbbbb".getBytes(), buf);
+    }
+
+    @Test
+    public void shrink_then_grow_reads_zeros() throws IOException {
+        CompressedRandomAccess compressed = new CompressedRandomAccess(storage, 16, 4);
+        compressed.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18});
+        compressed.setLength(3);
+        compressed.setLength(18);
+
+        byte[] buf = new byte[18];
+
+        assertEquals(18, compressed.readAt(buf, 0));
+        assertArrayEquals(new byte[] {1, 2, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, buf);
+    }
+
+    @Test
+    public void invalid_storage() throws IOException {
+        storage.write("not compressed".getBytes());
+
+        assertThrows(IOException.class, () -> new CompressedRandomAccess(storage));
+    }
+}
@@ -0,0 +1,68 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class DirectRandomAccessMemoryTest {
+
+    private DirectRandomAccessMemory memory = new DirectRandomAccessMemory(16);
+
+    @Test
+    public void write_and_read_across_pages() throws IOException {
+        byte[] data = "the quick brown fox jumps over the lazy dog".getBytes();
+
+        memory.write(data);
+
+        assertEquals(data.length, memory.getLength());
+        assertEquals(data.length, memory.getPointer());
+
+        memory.seek(0);
+
+        byte[] buf = new byte[data.length];
+
+        assertEquals(data.length, memory.read(buf));
+        assertArrayEquals(data, buf);
+    }
+
+    @Test
+    public void read_byte_is_unsigned() throws IOException {
+        memory.writeAt(0xF0, 20);
+
+        assertEquals(0xF0, memory.readAt(20));
+        assertEquals(0, memory.readAt(3));
+        assertEquals(16, memory.getAllocatedSize());
+    }
+
+    @Test
+    public void shrink_then_regrow_reads_zeros() throws IOException {
+        memory.write("0123456789abcdefghij".getBytes());
+        memory.setLength(6);
+
+        assertEquals(6, memory.getLength());
+        assertEquals(6, memory.getPointer());
+        assertEquals(16, memory.getAllocatedSize());
+
+        memory.setLength(20);
+
+        byte[] buf = new byte[20];
+        byte[] expected = new byte[20];
+        System.arraycopy("012345".getBytes(), 0, expected, 0, 6);
+
+        assertEquals(20, memory.readAt(buf, 0));
+        assertArrayEquals(expected, buf);
+    }
+
+    @Test
+    public void close_releases_memory() throws IOException {
+        memory.write("data".getBytes());
+        memory.close();
+
+        assertEquals(0, memory.getAllocatedSize());
+        assertThrows(IOException.class, () -> memory.readAt(0));
+    }
+}
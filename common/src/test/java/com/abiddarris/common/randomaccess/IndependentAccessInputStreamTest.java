@@ -0,0 +1,95 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class IndependentAccessInputStreamTest {
+
+    private CountingMemory memory = new CountingMemory();
+
+    private byte[] fillMemory(int size) throws IOException {
+        byte[] data = new byte[size];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        memory.write(data);
+
+        return data;
+    }
+
+    @Test
+    public void single_byte_reads_are_buffered() throws IOException {
+        byte[] data = fillMemory(100_000);
+
+        InputStream stream = new IndependentAccessInputStream(memory, 16, 1024);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int b;
+        while ((b = stream.read()) != -1) {
+            out.write(b);
+        }
+
+        assertArrayEquals(data, out.toByteArray());
+        assertTrue(memory.reads < 200, "Expected read-ahead, got " + memory.reads + " reads");
+    }
+
+    @Test
+    public void mixed_reads_and_skips() throws IOException {
+        byte[] data = fillMemory(5000);
+
+        InputStream stream = new IndependentAccessInputStream(memory, 16, 256);
+        byte[] buf = new byte[10];
+
+        assertEquals(10, stream.read(buf));
+        assertArrayEquals(Arrays.copyOfRange(data, 0, 10), buf);
+
+        assertEquals(100, stream.skip(100));
+        assertEquals(data[110] & 0xFF, stream.read());
+
+        byte[] large = new byte[1000];
+
+        assertEquals(1000, stream.read(large));
+        assertArrayEquals(Arrays.copyOfRange(data, 111, 1111), large);
+
+        assertEquals(5000 - 1111, stream.skip(10_000));
+        assertEquals(-1, stream.read());
+        assertEquals(-1, stream.read(buf));
+    }
+
+    @Test
+    public void independent_streams_do_not_share_position() throws IOException {
+        byte[] data = fillMemory(64);
+
+        InputStream first = memory.newIndependentInputStream();
+        InputStream second = memory.newIndependentInputStream();
+
+        assertEquals(data[0] & 0xFF, first.read());
+        assertEquals(data[0] & 0xFF, second.read());
+        assertEquals(data[1] & 0xFF, first.read());
+    }
+
+    private static class CountingMemory extends RandomAccessMemory {
+
+        private int reads;
+
+        @Override
+        public int readAt(long pos) throws IOException {
+            reads++;
+            return super.readAt(pos);
+        }
+
+        @Override
+        public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+            reads++;
+            return super.readAt(b, pos, off, len);
+        }
+    }
+}
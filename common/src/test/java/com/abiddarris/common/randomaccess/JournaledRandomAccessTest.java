@@ -0,0 +1,215 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class JournaledRandomAccessTest {
+
+    @TempDir
+    File dir;
+
+    private File file() {
+        return new File(dir, "data");
+    }
+
+    private File journal() {
+        return new File(dir, "journal");
+    }
+
+    @Test
+    public void write_read_before_and_after_checkpoint() throws IOException {
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal())) {
+            journaled.writeAt("hello world".getBytes(), 5);
+            journaled.writeAt("W".getBytes(), 11);
+
+            byte[] buf = new byte[16];
+
+            assertEquals(16, journaled.getLength());
+            assertEquals(0, file().length());
+            assertTrue(journaled.getJournalSize() > 0);
+            assertEquals(16, journaled.readAt(buf, 0));
+            assertArrayEquals("\0\0\0\0\0hello World".getBytes(), buf);
+
+            journaled.checkpoint();
+
+            assertEquals(0, journaled.getJournalSize());
+            assertArrayEquals("\0\0\0\0\0hello World".getBytes(), Files.readAllBytes(file().toPath()));
+            assertEquals('W', journaled.readAt(11));
+            assertEquals(-1, journaled.readAt(16));
+        }
+    }
+
+    @Test
+    public void replay_after_crash() throws IOException {
+        JournaledRandomAccess crashed = new JournaledRandomAccess(file(), journal());
+        crashed.writeAt("0123456789".getBytes(), 0);
+        crashed.setLength(4);
+        crashed.writeAt("xy".getBytes(), 6);
+
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+        }
+
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal())) {
+            assertEquals(0, journaled.getJournalSize());
+            assertArrayEquals("0123\0\0xy".getBytes(), Files.readAllBytes(file().toPath()));
+            assertEquals(8, journaled.getLength());
+        }
+    }
+
+    @Test
+    public void replay_journals_in_generation_order() throws IOException {
+        JournaledRandomAccess crashed = new JournaledRandomAccess(file(), journal(), Long.MAX_VALUE);
+        crashed.writeAt("abc".getBytes(), 0);
+
+        byte[] retired = Files.readAllBytes(journal().toPath());
+
+        crashed.checkpoint();
+        crashed.writeAt("XY".getBytes(), 1);
+
+        Files.write(file().toPath(), new byte[0]);
+        Files.write(journal().toPath(), retired);
+
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal())) {
+            assertEquals(0, journaled.getJournalSize());
+            assertArrayEquals("aXY".getBytes(), Files.readAllBytes(file().toPath()));
+        }
+    }
+
+    @Test
+    public void truncate_then_grow_hides_old_bytes() throws IOException {
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal())) {
+            journaled.writeAt("abcdef".getBytes(), 0);
+            journaled.checkpoint();
+
+            journaled.setLength(2);
+            journaled.setLength(6);
+
+            byte[] buf = new byte[6];
+
+            assertEquals(6, journaled.readAt(buf, 0));
+            assertArrayEquals("ab\0\0\0\0".getBytes(), buf);
+
+            journaled.checkpoint();
+
+            assertArrayEquals("ab\0\0\0\0".getBytes(), Files.readAllBytes(file().toPath()));
+        }
+    }
+
+    @Test
+    public void sequential_small_writes_extend_one_range() throws IOException {
+        int count = 1 << 14;
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal(), Long.MAX_VALUE)) {
+            for (int i = 0; i < count; i++) {
+                journaled.write(i);
+            }
+
+            byte[] buf = new byte[4];
+
+            assertEquals(count, journaled.getLength());
+            assertEquals(0, file().length());
+            assertEquals(4, journaled.readAt(buf, count - 4));
+            assertArrayEquals(new byte[] {(byte) 0xFC, (byte) 0xFD, (byte) 0xFE, (byte) 0xFF}, buf);
+
+            journaled.setLength(count - 2);
+            journaled.write(0x7F);
+
+            journaled.checkpoint();
+        }
+
+        byte[] content = Files.readAllBytes(file().toPath());
+
+        assertEquals(count - 1, content.length);
+        for (int i = 0; i < count - 2; i++) {
+            assertEquals((byte) i, content[i]);
+        }
+        assertEquals(0x7F, content[count - 2]);
+    }
+
+    @Test
+    public void read_while_checkpointing_in_background() throws IOException {
+        byte[] expected = new byte[4096];
+        int length = 0;
+
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal(), 256)) {
+            Random random = new Random(42);
+            for (int i = 0; i < 2000; i++) {
+                if (i % 100 == 99) {
+                    int newLength = random.nextInt(length + 1);
+                    journaled.setLength(newLength);
+
+                    Arrays.fill(expected, newLength, expected.length, (byte) 0);
+                    length = newLength;
+                } else {
+                    byte[] data = new byte[1 + random.nextInt(32)];
+                    random.nextBytes(data);
+
+                    int pos = random.nextInt(expected.length - data.length);
+                    journaled.writeAt(data, pos);
+
+                    System.arraycopy(data, 0, expected, pos, data.length);
+                    length = Math.max(length, pos + data.length);
+                }
+
+                byte[] buf = new byte[length];
+
+                assertEquals(length, journaled.getLength());
+                assertEquals(length, journaled.readAt(buf, 0));
+                assertArrayEquals(Arrays.copyOf(expected, length), buf);
+            }
+        }
+
+        assertArrayEquals(Arrays.copyOf(expected, length), Files.readAllBytes(file().toPath()));
+    }
+
+    @Test
+    public void concurrent_writers_share_commits() throws Exception {
+        int threads = 8;
+        int writes = 50;
+
+        try (JournaledRandomAccess journaled = new JournaledRandomAccess(file(), journal(), 1024)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < writes; i++) {
+                            journaled.writeAt(id, (long) i * threads + id);
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                writers.add(thread);
+                thread.start();
+            }
+            for (Thread thread : writers) {
+                thread.join();
+            }
+
+            for (int i = 0; i < threads * writes; i++) {
+                assertEquals(i % threads, journaled.readAt(i));
+            }
+        }
+
+        byte[] content = Files.readAllBytes(file().toPath());
+
+        assertEquals(threads * writes, content.length);
+        for (int i = 0; i < content.length; i++) {
+            assertEquals(i % threads, content[i]);
+        }
+    }
+}
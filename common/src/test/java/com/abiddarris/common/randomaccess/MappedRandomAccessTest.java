@@ -0,0 +1,124 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+public class MappedRandomAccessTest {
+
+    @TempDir
+    File dir;
+
+    private MappedRandomAccess open(int chunkSize) throws IOException {
+        return new MappedRandomAccess(new File(dir, "data"), "rw", chunkSize);
+    }
+
+    @Test
+    public void write_and_read() throws IOException {
+        try (MappedRandomAccess mapped = open(MappedRandomAccess.DEFAULT_CHUNK_SIZE)) {
+            mapped.write("hi my name is Dave".getBytes());
+
+            assertEquals(18, mapped.getLength());
+            assertEquals(18, mapped.getPointer());
+
+            mapped.seek(0);
+
+            byte[] buf = new byte[18];
+
+            assertEquals(18, mapped.read(buf));
+            assertArrayEquals("hi my name is Dave".getBytes(), buf);
+        }
+    }
+
+    @Test
+    public void write_and_read_across_chunks() throws IOException {
+        try (MappedRandomAccess mapped = open(4)) {
+            mapped.writeAt("0123456789".getBytes(), 1);
+
+            assertEquals(11, mapped.getLength());
+
+            byte[] buf = new byte[9];
+
+            assertEquals(9, mapped.readAt(buf, 2));
+            assertArrayEquals("123456789".getBytes(), buf);
+            assertEquals('9', mapped.readAt(10));
+            assertEquals(-1, mapped.readAt(11));
+        }
+    }
+
+    @Test
+    public void read_byte_is_unsigned() throws IOException {
+        try (MappedRandomAccess mapped = open(4)) {
+            mapped.writeAt(0xF0, 5);
+
+            assertEquals(0xF0, mapped.readAt(5));
+            assertEquals(0, mapped.readAt(4));
+        }
+    }
+
+    @Test
+    public void grow_and_shrink() throws IOException {
+        try (MappedRandomAccess mapped = open(4)) {
+            mapped.writeAt("abc".getBytes(), 0);
+            mapped.setLength(10);
+
+            assertEquals(10, mapped.getLength());
+            assertEquals(10, new File(dir, "data").length());
+            assertEquals('c', mapped.readAt(2));
+            assertEquals(0, mapped.readAt(9));
+
+            mapped.seek(8);
+            mapped.setLength(2);
+
+            assertEquals(2, mapped.getLength());
+            assertEquals(2, mapped.getPointer());
+            assertEquals(-1, mapped.readAt(2));
+        }
+    }
+
+    @Test
+    public void reopen_existing_file() throws IOException {
+        try (MappedRandomAccess mapped = open(4)) {
+            mapped.write("persisted".getBytes());
+        }
+
+        try (MappedRandomAccess mapped = new MappedRandomAccess(new File(dir, "data"), "r", 4)) {
+            byte[] buf = new byte[9];
+
+            assertEquals(9, mapped.readAt(buf, 0));
+            assertArrayEquals("persisted".getBytes(), buf);
+            assertThrows(IOException.class, () -> mapped.writeAt('a', 0));
+        }
+    }
+
+    @Test
+    public void append_grows_geometrically_and_trims_on_close() throws IOException {
+        File file = new File(dir, "data");
+
+        try (MappedRandomAccess mapped = open(64)) {
+            for (int i = 0; i < 100; i++) {
+                mapped.write(i);
+            }
+
+            assertEquals(100, mapped.getLength());
+            assertEquals(128, file.length());
+            assertEquals(-1, mapped.readAt(100));
+            assertEquals(99, mapped.readAt(99));
+
+            mapped.setLength(101);
+
+            assertEquals(101, file.length());
+            assertEquals(0, mapped.readAt(100));
+
+            mapped.writeAt(1, 101);
+        }
+
+        assertEquals(102, file.length());
+    }
+}
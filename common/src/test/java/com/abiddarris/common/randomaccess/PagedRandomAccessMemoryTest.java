@@ -0,0 +1,207 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class PagedRandomAccessMemoryTest {
+
+    private PagedRandomAccessMemory memory = new PagedRandomAccessMemory(4);
+
+    @Test
+    public void write_and_read_across_pages() throws IOException {
+        memory.write("hi my name is Dave".getBytes());
+
+        assertEquals(18, memory.getLength());
+        assertEquals(18, memory.getPointer());
+
+        memory.seek(0);
+
+        byte[] buf = new byte[18];
+
+        assertEquals(18, memory.read(buf));
+        assertArrayEquals("hi my name is Dave".getBytes(), buf);
+    }
+
+    @Test
+    public void read_end_of_buf() throws IOException {
+        assertEquals(-1, memory.read());
+        assertEquals(-1, memory.read(new byte[4]));
+        assertEquals(0, memory.getLength());
+    }
+
+    @Test
+    public void read_byte_is_unsigned() throws IOException {
+        memory.writeAt(0xF0, 0);
+
+        assertEquals(0xF0, memory.readAt(0));
+    }
+
+    @Test
+    public void unwritten_pages_are_not_allocated() throws IOException {
+        PagedRandomAccessMemory memory = new PagedRandomAccessMemory();
+        memory.setLength(1L << 32);
+
+        assertEquals(1L << 32, memory.getLength());
+        assertEquals(0, memory.getAllocatedSize());
+        assertEquals(0, memory.readAt(1L << 31));
+
+        memory.writeAt('a', (1L << 32) - 1);
+
+        assertEquals(PagedRandomAccessMemory.DEFAULT_PAGE_SIZE, memory.getAllocatedSize());
+        assertEquals('a', memory.readAt((1L << 32) - 1));
+    }
+
+    @Test
+    public void shrink_then_regrow_reads_zeros() throws IOException {
+        memory.write("0123456789".getBytes());
+        memory.setLength(6);
+
+        assertEquals(6, memory.getLength());
+        assertEquals(6, memory.getPointer());
+        assertEquals(8, memory.getAllocatedSize());
+
+        memory.setLength(10);
+
+        byte[] buf = new byte[10];
+        byte[] expected = new byte[10];
+        System.arraycopy("012345".getBytes(), 0, expected, 0, 6);
+
+        assertEquals(10, memory.readAt(buf, 0));
+        assertArrayEquals(expected, buf);
+    }
+
+    @Test
+    public void grow_beyond_page_table() {
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.setLength(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void page_size_must_be_power_of_two() {
+        assertThrows(IllegalArgumentException.class, () -> new PagedRandomAccessMemory(3));
+    }
+
+    @Test
+    public void snapshot_is_not_affected_by_later_writes() throws IOException {
+        memory.write("abcdefgh".getBytes());
+
+        RandomAccess snapshot = memory.snapshot();
+        long allocated = memory.getAllocatedSize();
+
+        memory.writeAt("XY".getBytes(), 2);
+        memory.writeAt("Z".getBytes(), 10);
+
+        byte[] buf = new byte[8];
+
+        assertEquals(8, snapshot.getLength());
+        assertEquals(8, snapshot.readAt(buf, 0));
+        assertArrayEquals("abcdefgh".getBytes(), buf);
+        assertEquals(-1, snapshot.readAt(8));
+
+        assertEquals(8, memory.readAt(buf, 0));
+        assertArrayEquals("abXYefgh".getBytes(), buf);
+        assertEquals(allocated + 4, memory.getAllocatedSize());
+    }
+
+    @Test
+    public void snapshot_is_not_affected_by_truncation() throws IOException {
+        memory.write("abcdefgh".getBytes());
+
+        RandomAccess snapshot = memory.snapshot();
+        memory.setLength(2);
+        memory.setLength(8);
+
+        byte[] buf = new byte[8];
+
+        assertEquals(8, snapshot.readAt(buf, 0));
+        assertArrayEquals("abcdefgh".getBytes(), buf);
+
+        assertEquals(8, memory.readAt(buf, 0));
+        assertArrayEquals("ab\0\0\0\0\0\0".getBytes(), buf);
+    }
+
+    @Test
+    public void snapshot_is_read_only() throws IOException {
+        memory.write("abcd".getBytes());
+
+        RandomAccess snapshot = memory.snapshot();
+
+        assertThrows(IOException.class, () -> snapshot.writeAt('a', 0));
+        assertThrows(IOException.class, () -> snapshot.setLength(0));
+    }
+
+    @Test
+    public void concurrent_writes_through_shared_pointer_do_not_overlap() throws Exception {
+        int threads = 4;
+        int chunks = 500;
+        int chunkSize = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                byte[] chunk = new byte[chunkSize];
+                Arrays.fill(chunk, (byte) (t + 1));
+
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < chunks; i++) {
+                        memory.write(chunk);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long total = (long) threads * chunks * chunkSize;
+
+        assertEquals(total, memory.getLength());
+        assertEquals(total, memory.getPointer());
+
+        memory.seek(0);
+
+        byte[] buf = new byte[chunkSize];
+        int[] counts = new int[threads + 1];
+        for (int i = 0; i < threads * chunks; i++) {
+            assertEquals(chunkSize, memory.read(buf));
+
+            byte[] expected = new byte[chunkSize];
+            Arrays.fill(expected, buf[0]);
+
+            assertArrayEquals(expected, buf);
+            counts[buf[0]]++;
+        }
+        for (int t = 1; t <= threads; t++) {
+            assertEquals(chunks, counts[t]);
+        }
+        assertEquals(-1, memory.read(buf));
+        assertEquals(total, memory.getPointer());
+    }
+
+    @Test
+    public void copy_range_and_fill_across_pages() throws IOException {
+        memory.write("0123456789".getBytes());
+        memory.copyRange(1, 4, 6);
+        memory.fill(10, 3, (byte) '-');
+
+        byte[] buf = new byte[13];
+
+        assertEquals(13, memory.readAt(buf, 0));
+        assertArrayEquals("0123123456---".getBytes(), buf);
+    }
+
+}
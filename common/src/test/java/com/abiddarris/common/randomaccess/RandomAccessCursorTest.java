@@ -0,0 +1,115 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+public class RandomAccessCursorTest {
+
+    private int reads;
+
+    private PagedRandomAccessMemory memory = new PagedRandomAccessMemory(16) {
+        @Override
+        public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+            reads++;
+            return super.readAt(b, pos, off, len);
+        }
+    };
+
+    @Test
+    public void write_then_read_values() throws IOException {
+        RandomAccessCursor cursor = new RandomAccessCursor(memory, 32);
+        cursor.writeInt(0x01020304);
+        cursor.order(ByteOrder.LITTLE_ENDIAN);
+        cursor.writeInt(0x01020304);
+        cursor.writeLong(-2);
+        cursor.writeDouble(1.5);
+        cursor.writeUTF("h\u00e9llo");
+        cursor.flush();
+
+        assertEquals(0x01020304, memory.readIntAt(0, ByteOrder.BIG_ENDIAN));
+        assertEquals(0x01020304, memory.readIntAt(4, ByteOrder.LITTLE_ENDIAN));
+
+        cursor.seek(0);
+
+        assertEquals(0x04030201, cursor.readInt());
+        assertEquals(0x01020304, cursor.readInt());
+        assertEquals(-2, cursor.readLong());
+        assertEquals(1.5, cursor.readDouble());
+        assertEquals("h\u00e9llo", cursor.readUTF());
+        assertEquals(memory.getLength(), cursor.position());
+        assertThrows(EOFException.class, cursor::readByte);
+    }
+
+    @Test
+    public void seek_inside_window_reuses_buffer() throws IOException {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        memory.writeAt(data, 0);
+
+        RandomAccessCursor cursor = new RandomAccessCursor(memory, 32);
+        cursor.seek(10);
+
+        assertEquals(10, cursor.readByte());
+
+        int before = reads;
+        cursor.seek(30);
+
+        assertEquals(30, cursor.readByte());
+
+        cursor.seek(20);
+
+        assertEquals(0x14151617, cursor.readInt());
+        assertEquals(before, reads);
+
+        cursor.seek(41);
+
+        assertEquals(0x292A, cursor.readShort());
+        assertEquals(before + 1, reads);
+    }
+
+    @Test
+    public void large_transfers_bypass_buffer() throws IOException {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 3);
+        }
+
+        RandomAccessCursor cursor = new RandomAccessCursor(memory, 16);
+        cursor.writeByte(7);
+        cursor.write(data);
+
+        assertEquals(101, memory.getLength());
+        assertEquals(7, memory.readAt(0));
+
+        byte[] buf = new byte[100];
+        cursor.seek(1);
+        cursor.readFully(buf);
+
+        assertArrayEquals(data, buf);
+        assertEquals(101, cursor.position());
+    }
+
+    @Test
+    public void read_line() throws IOException {
+        memory.writeAt("first\r\nsecond\rthird\nlast".getBytes(), 0);
+
+        RandomAccessCursor cursor = memory.newCursor();
+
+        assertEquals("first", cursor.readLine());
+        assertEquals("second", cursor.readLine());
+        assertEquals("third", cursor.readLine());
+        assertEquals("last", cursor.readLine());
+        assertNull(cursor.readLine());
+        assertEquals(0, cursor.skipBytes(5));
+    }
+}
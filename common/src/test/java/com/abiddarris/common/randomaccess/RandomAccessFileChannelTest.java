@@ -0,0 +1,241 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class RandomAccessFileChannelTest {
+
+    @TempDir
+    File dir;
+
+    private RandomAccessFileChannel open() throws IOException {
+        return new RandomAccessFileChannel(new File(dir, "data"), "rw");
+    }
+
+    @Test
+    public void write_and_read() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.write("hi my name is Dave".getBytes());
+
+            assertEquals(18, file.getLength());
+            assertEquals(18, file.getPointer());
+
+            file.seek(0);
+
+            byte[] buf = new byte[18];
+
+            assertEquals(18, file.read(buf));
+            assertArrayEquals("hi my name is Dave".getBytes(), buf);
+        }
+    }
+
+    @Test
+    public void read_byte_is_unsigned() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.writeAt(0xF0, 0);
+
+            assertEquals(0xF0, file.readAt(0));
+            assertEquals(-1, file.readAt(1));
+        }
+    }
+
+    @Test
+    public void read_end_of_file() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            byte[] buf = new byte[4];
+
+            assertEquals(-1, file.read(buf));
+            assertEquals(-1, file.read());
+            assertEquals(0, file.getPointer());
+        }
+    }
+
+    @Test
+    public void grow_and_shrink() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.setLength(16);
+
+            assertEquals(16, file.getLength());
+            assertEquals(0, file.readAt(15));
+
+            file.seek(10);
+            file.setLength(5);
+
+            assertEquals(5, file.getLength());
+            assertEquals(5, file.getPointer());
+        }
+    }
+
+    @Test
+    public void write_and_read_direct_buffer() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            ByteBuffer src = ByteBuffer.allocateDirect(5);
+            src.put("Hello".getBytes()).flip();
+
+            file.writeAt(src, 2);
+
+            assertEquals(0, src.remaining());
+            assertEquals(7, file.getLength());
+
+            ByteBuffer dst = ByteBuffer.allocateDirect(8);
+
+            assertEquals(5, file.readAt(dst, 2));
+
+            byte[] result = new byte[5];
+            dst.flip().get(result);
+
+            assertArrayEquals("Hello".getBytes(), result);
+        }
+    }
+
+    @Test
+    public void gathering_write_and_scattering_read() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            ByteBuffer[] srcs = {
+                ByteBuffer.wrap("head".getBytes()),
+                ByteBuffer.wrap("body".getBytes()),
+                ByteBuffer.wrap("tail".getBytes())
+            };
+
+            file.writeAt(srcs, 4);
+
+            assertEquals(16, file.getLength());
+
+            ByteBuffer header = ByteBuffer.allocate(4);
+            ByteBuffer rest = ByteBuffer.allocate(10);
+
+            assertEquals(8, file.readAt(new ByteBuffer[] {header, rest}, 8));
+            assertArrayEquals("body".getBytes(), header.array());
+            assertArrayEquals("tail".getBytes(), Arrays.copyOf(rest.array(), 4));
+            assertEquals(-1, file.readAt(new ByteBuffer[] {ByteBuffer.allocate(1)}, 16));
+        }
+    }
+
+    @Test
+    public void write_and_read_primitives() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.writeIntAt(0x01020304, 0, ByteOrder.BIG_ENDIAN);
+            file.writeDoubleAt(2.5, 4, ByteOrder.LITTLE_ENDIAN);
+
+            assertEquals(1, file.readAt(0));
+            assertEquals(0x04030201, file.readIntAt(0, ByteOrder.LITTLE_ENDIAN));
+            assertEquals(2.5, file.readDoubleAt(4, ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    @Test
+    public void read_after_close() throws IOException {
+        RandomAccessFileChannel file = open();
+        file.close();
+
+        assertThrows(IOException.class, () -> file.readAt(0));
+    }
+
+    @Test
+    public void read_does_not_wait_for_locked_channel() throws Exception {
+        try (RandomAccessFileChannel file = open()) {
+            file.write("hi my name is Dave".getBytes());
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                synchronized (file) {
+                    Future<Integer> read = executor.submit(() -> file.readAt(3));
+
+                    assertEquals('m', (int) read.get(5, TimeUnit.SECONDS));
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void transfer_between_files() throws IOException {
+        try (RandomAccessFileChannel source = open();
+             RandomAccessFileChannel target = new RandomAccessFileChannel(new File(dir, "target"), "rw")) {
+            source.write("hi my name is Dave".getBytes());
+
+            try (FileChannel channel = FileChannel.open(new File(dir, "target").toPath(), StandardOpenOption.WRITE)) {
+                assertEquals(4, source.transferTo(3, 4, channel));
+                assertEquals(1, source.transferTo(17, 100, channel));
+                assertEquals(0, source.transferTo(100, 4, channel));
+            }
+
+            byte[] buf = new byte[5];
+
+            assertEquals(5, target.readAt(buf, 0));
+            assertArrayEquals("my ne".getBytes(), buf);
+        }
+    }
+
+    @Test
+    public void transfer_from_channel() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.write("0123".getBytes());
+
+            assertEquals(3, file.transferFrom(Channels.newChannel(new ByteArrayInputStream("abc".getBytes())), 2, 10));
+            assertEquals(2, file.transferFrom(Channels.newChannel(new ByteArrayInputStream("XY".getBytes())), 8, 2));
+
+            byte[] buf = new byte[10];
+
+            assertEquals(10, file.readAt(buf, 0));
+            assertArrayEquals("01abc\0\0\0XY".getBytes(), buf);
+        }
+    }
+
+    @Test
+    public void copy_range_and_fill() throws IOException {
+        try (RandomAccessFileChannel file = open()) {
+            file.write("0123456789".getBytes());
+            file.copyRange(0, 12, 4);
+            file.copyRange(6, 4, 4);
+            file.fill(10, 2, (byte) '-');
+
+            byte[] buf = new byte[16];
+
+            assertEquals(16, file.readAt(buf, 0));
+            assertArrayEquals("0123678989--0123".getBytes(), buf);
+        }
+    }
+
+    @Test
+    public void parallel_index_of() throws IOException {
+        byte[] pattern = "MAGIC".getBytes();
+        long length = PatternSearch.PARALLEL_THRESHOLD * 5;
+
+        try (RandomAccessFileChannel file = open()) {
+            file.setLength(length);
+            file.writeAt(pattern, PatternSearch.PARALLEL_THRESHOLD * 2 - 2);
+            file.writeAt(pattern, length - 5);
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                assertEquals(PatternSearch.PARALLEL_THRESHOLD * 2 - 2, file.indexOf(pattern, 0, pool));
+                assertEquals(length - 5, file.indexOf(pattern, PatternSearch.PARALLEL_THRESHOLD * 2, pool));
+                assertEquals(-1, file.indexOf("absent".getBytes(), 0, pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class RandomAccessFileTest {
+
+    @TempDir
+    File dir;
+
+    private RandomAccessFile open(String mode) throws IOException {
+        return new RandomAccessFile(new File(dir, "data"), mode);
+    }
+
+    @Test
+    public void write_and_read_async() throws Exception {
+        try (RandomAccessFile file = open("rw")) {
+            byte[] data = "hi my name is Dave".getBytes();
+
+            assertEquals(data.length, (int) file.writeAtAsync(data, 0, 0, data.length).get());
+            assertEquals(data.length, file.getLength());
+
+            byte[] buf = new byte[data.length];
+
+            assertEquals(data.length, (int) file.readAtAsync(buf, 0, 0, buf.length).get());
+            assertArrayEquals(data, buf);
+            assertEquals(-1, (int) file.readAtAsync(ByteBuffer.allocate(4), 100).get());
+        }
+    }
+
+    @Test
+    public void many_outstanding_async_reads() throws Exception {
+        try (RandomAccessFile file = open("rw")) {
+            int blocks = 64;
+            for (int i = 0; i < blocks; i++) {
+                file.writeIntAt(i, i * 4L, ByteOrder.BIG_ENDIAN);
+            }
+
+            List<ByteBuffer> buffers = new ArrayList<>();
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < blocks; i++) {
+                ByteBuffer buffer = ByteBuffer.allocate(4);
+                buffers.add(buffer);
+                futures.add(file.readAtAsync(buffer, i * 4L));
+            }
+
+            for (int i = 0; i < blocks; i++) {
+                assertEquals(4, (int) futures.get(i).get());
+                assertEquals(i, buffers.get(i).getInt(0));
+            }
+        }
+    }
+
+    @Test
+    public void async_write_on_read_only_file_fails() throws Exception {
+        open("rw").close();
+
+        try (RandomAccessFile file = open("r")) {
+            CompletableFuture<Integer> future = file.writeAtAsync(new byte[4], 0, 0, 4);
+
+            assertThrows(ExecutionException.class, future::get);
+        }
+    }
+
+    @Test
+    public void async_read_after_close_fails() throws Exception {
+        RandomAccessFile file = open("rw");
+        file.close();
+
+        assertThrows(ExecutionException.class, () -> file.readAtAsync(new byte[4], 0, 0, 4).get());
+    }
+
+    @Test
+    public void input_stream_transfer_to_moves_pointer() throws IOException {
+        try (RandomAccessFile file = open("rw")) {
+            file.write("hi my name is Dave".getBytes());
+            file.seek(6);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            InputStream stream = file.newInputStream();
+
+            assertEquals(12, stream.transferTo(out));
+            assertArrayEquals("name is Dave".getBytes(), out.toByteArray());
+            assertEquals(18, file.getPointer());
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void copy_range_between_non_overlapping_regions() throws IOException {
+        try (RandomAccessFile file = open("rw")) {
+            file.write("abcdef".getBytes());
+            file.copyRange(0, 6, 3);
+
+            byte[] buf = new byte[9];
+
+            assertEquals(9, file.readAt(buf, 0));
+            assertArrayEquals("abcdefabc".getBytes(), buf);
+            assertThrows(EOFException.class, () -> file.copyRange(7, 20, 3));
+        }
+    }
+
+}
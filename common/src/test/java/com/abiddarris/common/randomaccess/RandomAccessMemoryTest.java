@@ -2,12 +2,31 @@ package com.abiddarris.common.randomaccess;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class RandomAccessMemoryTest {
 
@@ -408,4 +427,259 @@ public class RandomAccessMemoryTest {
         assertEquals(2, memory.getPointer());
     }
 
+    @Test
+    public void write_and_read_direct_buffer() throws IOException {
+        ByteBuffer src = ByteBuffer.allocateDirect(5);
+        src.put("Hello".getBytes()).flip();
+
+        memory.writeAt(src, 2);
+
+        assertEquals(0, src.remaining());
+        assertEquals(7, memory.getLength());
+
+        ByteBuffer dst = ByteBuffer.allocateDirect(8);
+
+        assertEquals(5, memory.readAt(dst, 2));
+        assertEquals(5, dst.position());
+
+        byte[] result = new byte[5];
+        dst.flip().get(result);
+
+        assertArrayEquals("Hello".getBytes(), result);
+        assertEquals(-1, memory.readAt(ByteBuffer.allocate(1), 7));
+    }
+
+    @Test
+    public void gathering_write_and_scattering_read() throws IOException {
+        memory.writeAt(new ByteBuffer[] {
+            ByteBuffer.wrap("head".getBytes()),
+            ByteBuffer.wrap("body".getBytes())
+        }, 0);
+
+        assertEquals(8, memory.getLength());
+
+        ByteBuffer first = ByteBuffer.allocate(3);
+        ByteBuffer second = ByteBuffer.allocate(8);
+
+        assertEquals(7, memory.readAt(new ByteBuffer[] {first, second}, 1));
+        assertArrayEquals("ead".getBytes(), first.array());
+        assertArrayEquals("body".getBytes(), Arrays.copyOf(second.array(), 4));
+    }
+
+    @Test
+    public void write_and_read_primitives() throws IOException {
+        memory.writeIntAt(0x01020304, 0, ByteOrder.BIG_ENDIAN);
+        memory.writeLongAt(-2, 4, ByteOrder.LITTLE_ENDIAN);
+        memory.writeShortAt((short) 0x0506, 12, ByteOrder.LITTLE_ENDIAN);
+        memory.writeFloatAt(1.5f, 14, ByteOrder.BIG_ENDIAN);
+        memory.writeDoubleAt(-0.25, 18, ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(26, memory.getLength());
+        assertEquals(1, memory.readAt(0));
+        assertEquals(0x04030201, memory.readIntAt(0, ByteOrder.LITTLE_ENDIAN));
+        assertEquals(0x01020304, memory.readIntAt(0, ByteOrder.BIG_ENDIAN));
+        assertEquals(-2, memory.readLongAt(4, ByteOrder.LITTLE_ENDIAN));
+        assertEquals((short) 0x0506, memory.readShortAt(12, ByteOrder.LITTLE_ENDIAN));
+        assertEquals(1.5f, memory.readFloatAt(14, ByteOrder.BIG_ENDIAN));
+        assertEquals(-0.25, memory.readDoubleAt(18, ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Test
+    public void read_primitive_beyond_length() throws IOException {
+        memory.write(new byte[3]);
+
+        assertThrows(EOFException.class, () -> memory.readIntAt(0, ByteOrder.BIG_ENDIAN));
+    }
+
+    @Test
+    public void async_read_and_write_use_executor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            memory.setAsyncExecutor(executor);
+
+            assertEquals(5, (int) memory.writeAtAsync("hello".getBytes(), 0, 0, 5).get());
+
+            byte[] buf = new byte[5];
+
+            assertEquals(5, (int) memory.readAtAsync(buf, 0, 0, 5).get());
+            assertArrayEquals("hello".getBytes(), buf);
+            assertEquals(-1, (int) memory.readAtAsync(buf, 5, 0, 5).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void async_executor_defaults_to_common_pool() {
+        assertSame(ForkJoinPool.commonPool(), memory.getAsyncExecutor());
+
+        Executor executor = Runnable::run;
+        memory.setAsyncExecutor(executor);
+
+        assertSame(executor, memory.getAsyncExecutor());
+    }
+
+    @Test
+    public void async_read_after_close_fails() throws Exception {
+        memory.close();
+
+        assertThrows(ExecutionException.class, () -> memory.readAtAsync(new byte[1], 0, 0, 1).get());
+    }
+
+    @Test
+    public void resize_blocks_readers_and_writers() throws Exception {
+        CountDownLatch resizing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RandomAccessMemory blocking = new RandomAccessMemory() {
+            @Override
+            protected void truncatePointer(long length) {
+                resizing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.truncatePointer(length);
+            }
+        };
+        blocking.write("hi my name is Dave".getBytes());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> resize = executor.submit(() -> {
+                blocking.setLength(4);
+                return null;
+            });
+            resizing.await();
+
+            Future<Integer> read = executor.submit(() -> blocking.readAt(3));
+            Future<?> write = executor.submit(() -> {
+                blocking.writeAt('I', 1);
+                return null;
+            });
+
+            assertThrows(TimeoutException.class, () -> read.get(100, TimeUnit.MILLISECONDS));
+            assertThrows(TimeoutException.class, () -> write.get(100, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            resize.get(5, TimeUnit.SECONDS);
+            write.get(5, TimeUnit.SECONDS);
+
+            assertEquals('m', (int) read.get(5, TimeUnit.SECONDS));
+            assertEquals(4, blocking.getLength());
+            assertEquals('I', blocking.readAt(1));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void transfer_to_channel() throws IOException {
+        memory.write("hi my name is Dave".getBytes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(7, memory.transferTo(11, 100, Channels.newChannel(out)));
+        assertArrayEquals("is Dave".getBytes(), out.toByteArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.transferTo(0, -1, Channels.newChannel(out)));
+    }
+
+    @Test
+    public void copy_range_overlapping() throws IOException {
+        memory.write("0123456789".getBytes());
+        memory.copyRange(0, 2, 6);
+
+        byte[] buf = new byte[10];
+
+        assertEquals(10, memory.readAt(buf, 0));
+        assertArrayEquals("0101234589".getBytes(), buf);
+
+        memory.copyRange(2, 0, 6);
+        memory.copyRange(8, 12, 2);
+
+        buf = new byte[14];
+
+        assertEquals(14, memory.readAt(buf, 0));
+        assertArrayEquals("0123454589\0\089".getBytes(), buf);
+        assertThrows(EOFException.class, () -> memory.copyRange(10, 0, 5));
+    }
+
+    @Test
+    public void fill_grows() throws IOException {
+        memory.write("0123".getBytes());
+        memory.fill(2, 4, (byte) 'x');
+
+        byte[] buf = new byte[6];
+
+        assertEquals(6, memory.getLength());
+        assertEquals(6, memory.readAt(buf, 0));
+        assertArrayEquals("01xxxx".getBytes(), buf);
+    }
+
+    @Test
+    public void index_of_straddling_blocks() throws IOException {
+        byte[] pattern = "PK\3\4".getBytes();
+        long straddling = PatternSearch.BLOCK_SIZE - 2;
+
+        memory.setLength(PatternSearch.BLOCK_SIZE * 3L);
+        memory.writeAt(pattern, straddling);
+        memory.writeAt(pattern, PatternSearch.BLOCK_SIZE * 3L - 4);
+
+        assertEquals(straddling, memory.indexOf(pattern, 0));
+        assertEquals(straddling, memory.indexOf(pattern, straddling));
+        assertEquals(PatternSearch.BLOCK_SIZE * 3L - 4, memory.indexOf(pattern, straddling + 1));
+        assertEquals(-1, memory.indexOf(pattern, PatternSearch.BLOCK_SIZE * 3L - 3));
+        assertEquals(-1, memory.indexOf("missing".getBytes(), 0));
+        assertEquals(5, memory.indexOf(new byte[0], 5));
+    }
+
+    @Test
+    public void find_all_overlapping() throws IOException {
+        memory.write("abaababaab".getBytes());
+
+        PrimitiveIterator.OfLong matches = memory.findAll("aba".getBytes(), 1);
+        List<Long> positions = new ArrayList<>();
+        matches.forEachRemaining((long pos) -> positions.add(pos));
+
+        assertEquals(List.of(3L, 5L), positions);
+        assertThrows(NoSuchElementException.class, matches::nextLong);
+    }
+
+    @Test
+    public void find_all_dense_matches_reads_content_once() throws IOException {
+        long[] bytesRead = new long[1];
+        RandomAccessMemory counting = new RandomAccessMemory() {
+            @Override
+            public int readAt(byte[] b, long pos, int off, int len) throws IOException {
+                int read = super.readAt(b, pos, off, len);
+                if (read > 0) {
+                    bytesRead[0] += read;
+                }
+                return read;
+            }
+        };
+        long length = PatternSearch.BLOCK_SIZE * 2L + 10;
+        counting.writeAt(new byte[(int) length], 0);
+
+        PrimitiveIterator.OfLong matches = counting.findAll(new byte[2], 0);
+        long expected = 0;
+        while (matches.hasNext()) {
+            assertEquals(expected++, matches.nextLong());
+        }
+
+        assertEquals(length - 1, expected);
+        assertEquals(length, bytesRead[0]);
+    }
+
+    @Test
+    public void write_near_integer_max_value() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> memory.writeIntAt(1, Integer.MAX_VALUE - 2, ByteOrder.BIG_ENDIAN));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> memory.writeDoubleAt(1, Integer.MAX_VALUE - 1, ByteOrder.LITTLE_ENDIAN));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> memory.writeAt(new byte[16], Integer.MAX_VALUE - 8));
+    }
+
 }
@@ -0,0 +1,82 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class RandomAccessSliceTest {
+
+    private PagedRandomAccessMemory source = new PagedRandomAccessMemory(4);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        source.write("0123456789abcdef".getBytes());
+    }
+
+    @Test
+    public void read_translates_position_and_stops_at_end() throws IOException {
+        RandomAccess slice = source.slice(4, 6);
+
+        byte[] buf = new byte[10];
+
+        assertEquals(6, slice.getLength());
+        assertEquals('4', slice.readAt(0));
+        assertEquals(6, slice.readAt(buf, 0));
+        assertArrayEquals("456789\0\0\0\0".getBytes(), buf);
+        assertEquals(-1, slice.readAt(6));
+
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+
+        assertEquals(4, slice.readAt(buffer, 2));
+        assertEquals(4, buffer.position());
+        assertEquals(10, buffer.limit());
+    }
+
+    @Test
+    public void write_goes_to_source_within_bounds() throws IOException {
+        RandomAccess slice = source.slice(4, 6);
+        slice.writeAt("XY".getBytes(), 1);
+
+        assertEquals('X', source.readAt(5));
+        assertThrows(IOException.class, () -> slice.writeAt("XY".getBytes(), 5));
+        assertThrows(IOException.class, () -> slice.setLength(10));
+        assertEquals(16, source.getLength());
+    }
+
+    @Test
+    public void independent_input_stream_reads_only_slice() throws IOException {
+        RandomAccess slice = source.slice(10, 3);
+
+        try (InputStream stream = slice.newIndependentInputStream()) {
+            assertArrayEquals("abc".getBytes(), stream.readAllBytes());
+        }
+
+        assertTrue(source.isOpen());
+    }
+
+    @Test
+    public void slice_of_slice() throws IOException {
+        RandomAccess slice = source.slice(2, 10).slice(3, 4);
+
+        byte[] buf = new byte[4];
+
+        assertEquals(4, slice.readAt(buf, 0));
+        assertArrayEquals("5678".getBytes(), buf);
+        assertThrows(IndexOutOfBoundsException.class, () -> source.slice(2, 10).slice(8, 4));
+    }
+
+    @Test
+    public void invalid_bounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> source.slice(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.slice(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.slice(Long.MAX_VALUE, 2));
+    }
+}
@@ -0,0 +1,86 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class SparseRandomAccessMemoryTest {
+
+    private SparseRandomAccessMemory memory = new SparseRandomAccessMemory(8);
+
+    @Test
+    public void write_and_read_across_extents() throws IOException {
+        memory.write("hi my name is Dave".getBytes());
+
+        assertEquals(18, memory.getLength());
+        assertEquals(18, memory.getPointer());
+        assertEquals(3, memory.getExtentCount());
+
+        memory.seek(0);
+
+        byte[] buf = new byte[18];
+
+        assertEquals(18, memory.read(buf));
+        assertArrayEquals("hi my name is Dave".getBytes(), buf);
+        assertEquals(-1, memory.read());
+    }
+
+    @Test
+    public void holes_are_not_allocated() throws IOException {
+        memory.setLength(1L << 40);
+
+        assertEquals(1L << 40, memory.getLength());
+        assertEquals(0, memory.getAllocatedSize());
+        assertEquals(0, memory.readAt(1L << 39));
+
+        memory.writeAt("abc".getBytes(), 1L << 39);
+
+        assertEquals(3, memory.getAllocatedSize());
+        assertEquals('b', memory.readAt((1L << 39) + 1));
+    }
+
+    @Test
+    public void write_far_beyond_end_reads_zeros_in_hole() throws IOException {
+        memory.writeAt("ab".getBytes(), 0);
+        memory.writeAt("cd".getBytes(), 10);
+
+        byte[] buf = new byte[12];
+        byte[] expected = "ab\0\0\0\0\0\0\0\0cd".getBytes();
+
+        assertEquals(12, memory.readAt(buf, 0));
+        assertArrayEquals(expected, buf);
+        assertEquals(12, memory.getLength());
+        assertTrue(memory.getAllocatedSize() < 12);
+    }
+
+    @Test
+    public void overwrite_spanning_extents_and_holes() throws IOException {
+        memory.writeAt("aa".getBytes(), 2);
+        memory.writeAt("bb".getBytes(), 6);
+        memory.writeAt("XXXXXXXXXX".getBytes(), 0);
+
+        byte[] buf = new byte[10];
+
+        assertEquals(10, memory.readAt(buf, 0));
+        assertArrayEquals("XXXXXXXXXX".getBytes(), buf);
+    }
+
+    @Test
+    public void shrink_then_grow_reads_zeros() throws IOException {
+        memory.write("abcdefgh".getBytes());
+        memory.setLength(3);
+
+        assertEquals(3, memory.getPointer());
+
+        memory.setLength(8);
+
+        byte[] buf = new byte[8];
+
+        assertEquals(8, memory.readAt(buf, 0));
+        assertArrayEquals("abc\0\0\0\0\0".getBytes(), buf);
+    }
+}
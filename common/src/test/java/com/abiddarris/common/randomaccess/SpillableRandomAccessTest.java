@@ -0,0 +1,82 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+public class SpillableRandomAccessTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    public void spill_when_threshold_exceeded() throws IOException {
+        long usage = SpillableRandomAccess.getGlobalUsage();
+
+        try (SpillableRandomAccess spillable = new SpillableRandomAccess(100, dir)) {
+            spillable.writeAt("hello".getBytes(), 0);
+
+            assertFalse(spillable.isSpilled());
+            assertEquals(usage + 5, SpillableRandomAccess.getGlobalUsage());
+
+            spillable.writeAt("world".getBytes(), 100);
+
+            byte[] buf = new byte[5];
+
+            assertTrue(spillable.isSpilled());
+            assertEquals(usage, SpillableRandomAccess.getGlobalUsage());
+            assertEquals(105, spillable.getLength());
+            assertEquals(5, spillable.readAt(buf, 0));
+            assertArrayEquals("hello".getBytes(), buf);
+            assertEquals(5, spillable.readAt(buf, 100));
+            assertArrayEquals("world".getBytes(), buf);
+            assertEquals(0, spillable.readAt(50));
+        }
+
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    @Test
+    public void spill_when_global_budget_exceeded() throws IOException {
+        long usage = SpillableRandomAccess.getGlobalUsage();
+        long budget = SpillableRandomAccess.getGlobalBudget();
+        SpillableRandomAccess.setGlobalBudget(usage + 150);
+
+        try (SpillableRandomAccess first = new SpillableRandomAccess(1000, dir)) {
+            first.setLength(100);
+
+            assertFalse(first.isSpilled());
+            assertEquals(usage + 100, SpillableRandomAccess.getGlobalUsage());
+
+            try (SpillableRandomAccess second = new SpillableRandomAccess(1000, dir)) {
+                second.setLength(100);
+
+                assertTrue(second.isSpilled());
+                assertEquals(usage + 100, SpillableRandomAccess.getGlobalUsage());
+            }
+
+            first.setLength(10);
+
+            assertEquals(usage + 10, SpillableRandomAccess.getGlobalUsage());
+
+            try (SpillableRandomAccess third = new SpillableRandomAccess(1000, dir)) {
+                third.writeAt(new byte[140], 0);
+
+                assertFalse(third.isSpilled());
+                assertEquals(usage + 150, SpillableRandomAccess.getGlobalUsage());
+            }
+        } finally {
+            SpillableRandomAccess.setGlobalBudget(budget);
+        }
+
+        assertEquals(usage, SpillableRandomAccess.getGlobalUsage());
+        assertEquals(0, dir.listFiles().length);
+    }
+}
@@ -0,0 +1,100 @@
+package com.abiddarris.common.randomaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class WriteBackRandomAccessTest {
+
+    private RandomAccessMemory source = new RandomAccessMemory();
+
+    @Test
+    public void writes_are_buffered_until_flush() throws IOException {
+        WriteBackRandomAccess buffered = new WriteBackRandomAccess(source, 1024);
+        buffered.writeAt("hello".getBytes(), 0);
+        buffered.writeAt(" world".getBytes(), 5);
+
+        assertEquals(0, source.getLength());
+        assertEquals(11, buffered.getLength());
+        assertEquals(11, buffered.getPendingBytes());
+
+        buffered.flush();
+
+        byte[] buf = new byte[11];
+
+        assertEquals(0, buffered.getPendingBytes());
+        assertEquals(11, source.readAt(buf, 0));
+        assertArrayEquals("hello world".getBytes(), buf);
+    }
+
+    @Test
+    public void reads_see_pending_writes() throws IOException {
+        source.write("0123456789".getBytes());
+
+        WriteBackRandomAccess buffered = new WriteBackRandomAccess(source, 1024);
+        buffered.writeAt("ab".getBytes(), 2);
+        buffered.writeAt("XY".getBytes(), 12);
+        buffered.writeAt("c".getBytes(), 3);
+
+        byte[] buf = new byte[14];
+        byte[] expected = "01ac456789\0\0XY".getBytes();
+
+        assertEquals(14, buffered.readAt(buf, 0));
+        assertArrayEquals(expected, buf);
+        assertEquals('c', buffered.readAt(3));
+        assertEquals(-1, buffered.readAt(14));
+    }
+
+    @Test
+    public void overlapping_writes_are_merged() throws IOException {
+        WriteBackRandomAccess buffered = new WriteBackRandomAccess(source, 1024);
+        buffered.writeAt("aaaa".getBytes(), 4);
+        buffered.writeAt("bb".getBytes(), 0);
+        buffered.writeAt("cccc".getBytes(), 2);
+
+        assertEquals(8, buffered.getPendingBytes());
+
+        buffered.flush();
+
+        byte[] buf = new byte[8];
+
+        assertEquals(8, source.readAt(buf, 0));
+        assertArrayEquals("bbccccaa".getBytes(), buf);
+    }
+
+    @Test
+    public void threshold_triggers_flush() throws IOException {
+        WriteBackRandomAccess buffered = new WriteBackRandomAccess(source, 8);
+        buffered.writeAt("1234".getBytes(), 0);
+
+        assertEquals(0, source.getLength());
+
+        buffered.writeAt("5678".getBytes(), 4);
+
+        assertEquals(8, source.getLength());
+        assertEquals(0, buffered.getPendingBytes());
+    }
+
+    @Test
+    public void sequential_small_writes_extend_one_range() throws IOException {
+        int count = 1 << 20;
+        WriteBackRandomAccess buffered = new WriteBackRandomAccess(source, 4 * count);
+        for (int i = 0; i < count; i++) {
+            buffered.write(i);
+        }
+
+        assertEquals(count, buffered.getPendingBytes());
+        assertEquals(0, source.getLength());
+
+        buffered.flush();
+
+        byte[] buf = new byte[4];
+
+        assertEquals(count, source.getLength());
+        assertEquals(4, source.readAt(buf, count - 4));
+        assertArrayEquals(new byte[] {(byte) 0xFC, (byte) 0xFD, (byte) 0xFE, (byte) 0xFF}, buf);
+    }
+}